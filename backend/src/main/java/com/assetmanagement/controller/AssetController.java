@@ -2,10 +2,15 @@ package com.assetmanagement.controller;
 
 import com.assetmanagement.dto.request.CreateAssetRequest;
 import com.assetmanagement.dto.response.AssetResponse;
+import com.assetmanagement.dto.response.AssetSearchResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.EmployeeAssetResponse;
+import com.assetmanagement.dto.response.OptionResponse;
 import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.model.AssetType;
 import com.assetmanagement.service.AssetService;
+import com.assetmanagement.service.ChangeCounters;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -16,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,6 +31,7 @@ import java.util.List;
 public class AssetController {
 
   private final AssetService assetService;
+  private final ChangeCounters changeCounters;
 
   @PostMapping("/admin/assets")
   @PreAuthorize("hasRole('ADMIN')")
@@ -40,22 +47,93 @@ public class AssetController {
           @RequestParam(defaultValue = "20") int size,
           @RequestParam(defaultValue = "id") String sortBy,
           @RequestParam(defaultValue = "asc") String sortDir,
+          @RequestParam(required = false) String sort,
           @RequestParam(required = false) Boolean isActive,
           @RequestParam(required = false) AssetType assetType,
-          @RequestParam(required = false) Boolean isAssigned) {
-    Sort sort = sortDir.equalsIgnoreCase("desc")
-            ? Sort.by(sortBy).descending()
-            : Sort.by(sortBy).ascending();
-    Pageable pageable = PageRequest.of(page, size, sort);
+          @RequestParam(required = false) Boolean isAssigned,
+          WebRequest webRequest) {
+    String eTag = changeCounters.eTag(ChangeCounters.Listing.ASSETS);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    Pageable pageable = PageRequest.of(page, size, Sort.by(ListingSort.order(sort, sortBy, sortDir)));
     PagedResponse<AssetResponse> assets = assetService.getAllAssets(pageable, isActive, assetType, isAssigned);
-    return ResponseEntity.ok(assets);
+    return ConditionalGet.ok(eTag, assets);
+  }
+
+  @GetMapping(value = "/admin/assets", params = "withTotal=false")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<SlicedResponse<AssetResponse>> getAssetSlice(
+          @RequestParam(defaultValue = "0") int page,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "id") String sortBy,
+          @RequestParam(defaultValue = "asc") String sortDir,
+          @RequestParam(required = false) String sort,
+          @RequestParam(required = false) Boolean isActive,
+          @RequestParam(required = false) AssetType assetType,
+          @RequestParam(required = false) Boolean isAssigned,
+          WebRequest webRequest) {
+    String eTag = changeCounters.eTag(ChangeCounters.Listing.ASSETS);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    Pageable pageable = PageRequest.of(page, size, Sort.by(ListingSort.order(sort, sortBy, sortDir)));
+    SlicedResponse<AssetResponse> assets = assetService.getAssetSlice(pageable, isActive, assetType, isAssigned);
+    return ConditionalGet.ok(eTag, assets);
+  }
+
+  @GetMapping(value = "/admin/assets", params = "after")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<CursorPagedResponse<AssetResponse>> getAssetsAfter(
+          @RequestParam String after,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "id") String sortBy,
+          @RequestParam(defaultValue = "asc") String sortDir,
+          @RequestParam(required = false) String sort,
+          @RequestParam(required = false) Boolean isActive,
+          @RequestParam(required = false) AssetType assetType,
+          @RequestParam(required = false) Boolean isAssigned,
+          WebRequest webRequest) {
+    String eTag = changeCounters.eTag(ChangeCounters.Listing.ASSETS);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    Sort.Order order = ListingSort.order(sort, sortBy, sortDir);
+    CursorPagedResponse<AssetResponse> assets = assetService.getAssetsAfter(after, size, order, isActive, assetType, isAssigned);
+    return ConditionalGet.ok(eTag, assets);
+  }
+
+  @GetMapping("/admin/assets/options")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<List<OptionResponse>> getAssetOptions(
+          @RequestParam(required = false) String prefix,
+          @RequestParam(defaultValue = "true") boolean availableOnly,
+          @RequestParam(defaultValue = "20") int limit,
+          WebRequest webRequest) {
+    String eTag = changeCounters.eTag(ChangeCounters.Listing.ASSETS);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    List<OptionResponse> options = assetService.getAssetOptions(prefix, availableOnly, limit);
+    return ConditionalGet.ok(eTag, options);
+  }
+
+  @GetMapping("/admin/assets/search")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<List<AssetSearchResponse>> searchAssets(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(assetService.searchAssets(q, limit));
   }
 
   @GetMapping("/admin/assets/{id}")
   @PreAuthorize("hasRole('ADMIN')")
-  public ResponseEntity<AssetResponse> getAssetById(@PathVariable Long id) {
+  public ResponseEntity<AssetResponse> getAssetById(@PathVariable Long id, WebRequest webRequest) {
+    String eTag = ConditionalGet.resourceETag("asset", id, assetService.getAssetVersion(id));
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
     AssetResponse asset = assetService.getAssetById(id);
-    return ResponseEntity.ok(asset);
+    return ConditionalGet.ok(eTag, asset);
   }
 
   @PutMapping("/admin/assets/{id}/deactivate")
@@ -67,9 +145,14 @@ public class AssetController {
 
   @GetMapping("/employee/assets")
   @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-  public ResponseEntity<List<EmployeeAssetResponse>> getMyActiveAssets(Authentication authentication) {
+  public ResponseEntity<List<EmployeeAssetResponse>> getMyActiveAssets(Authentication authentication,
+                                                                       WebRequest webRequest) {
     String email = authentication.getName();
+    String eTag = ConditionalGet.userETag(changeCounters.eTag(ChangeCounters.Listing.ASSIGNMENTS), email);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
     List<EmployeeAssetResponse> assets = assetService.getActiveAssetsByEmployeeEmail(email);
-    return ResponseEntity.ok(assets);
+    return ConditionalGet.ok(eTag, assets);
   }
 }
@@ -3,18 +3,26 @@ package com.assetmanagement.controller;
 import com.assetmanagement.dto.request.CreateAssignmentRequest;
 import com.assetmanagement.dto.request.EndAssignmentRequest;
 import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.service.AssignmentService;
+import com.assetmanagement.service.ChangeCounters;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.List;
 
@@ -24,6 +32,8 @@ import java.util.List;
 public class AssignmentController {
 
   private final AssignmentService assignmentService;
+  private final ChangeCounters changeCounters;
+  private final JsonMapper jsonMapper;
 
   @PostMapping("/admin/assignments")
   @PreAuthorize("hasRole('ADMIN')")
@@ -50,21 +60,121 @@ public class AssignmentController {
           @RequestParam(defaultValue = "0") int page,
           @RequestParam(defaultValue = "20") int size,
           @RequestParam(defaultValue = "id") String sortBy,
-          @RequestParam(defaultValue = "asc") String sortDir) {
+          @RequestParam(defaultValue = "asc") String sortDir,
+          @RequestParam(required = false) String sort,
+          WebRequest webRequest) {
+    String eTag = changeCounters.eTag(ChangeCounters.Listing.ASSIGNMENTS);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
 
-    Sort sort = sortDir.equalsIgnoreCase("desc")
-            ? Sort.by(sortBy).descending()
-            : Sort.by(sortBy).ascending();
-    Pageable pageable = PageRequest.of(page, size, sort);
+    Pageable pageable = PageRequest.of(page, size, Sort.by(ListingSort.order(sort, sortBy, sortDir)));
     PagedResponse<AssignmentResponse> assignments = assignmentService.getAllAssignments(pageable, isActive, employeeId, assetId);
-    return ResponseEntity.ok(assignments);
+    return ConditionalGet.ok(eTag, assignments);
+  }
+
+  @GetMapping(value = "/admin/assignments", params = "withTotal=false")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<SlicedResponse<AssignmentResponse>> getAssignmentSlice(
+          @RequestParam(required = false) Long employeeId,
+          @RequestParam(required = false) Long assetId,
+          @RequestParam(required = false) Boolean isActive,
+          @RequestParam(defaultValue = "0") int page,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "id") String sortBy,
+          @RequestParam(defaultValue = "asc") String sortDir,
+          @RequestParam(required = false) String sort,
+          WebRequest webRequest) {
+    String eTag = changeCounters.eTag(ChangeCounters.Listing.ASSIGNMENTS);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+
+    Pageable pageable = PageRequest.of(page, size, Sort.by(ListingSort.order(sort, sortBy, sortDir)));
+    SlicedResponse<AssignmentResponse> assignments = assignmentService.getAssignmentSlice(pageable, isActive, employeeId, assetId);
+    return ConditionalGet.ok(eTag, assignments);
+  }
+
+  @GetMapping(value = "/admin/assignments", params = "after")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<CursorPagedResponse<AssignmentResponse>> getAssignmentsAfter(
+          @RequestParam(required = false) Long employeeId,
+          @RequestParam(required = false) Long assetId,
+          @RequestParam(required = false) Boolean isActive,
+          @RequestParam String after,
+          @RequestParam(defaultValue = "" + AssignmentService.HISTORY_PAGE_SIZE) int size,
+          @RequestParam(defaultValue = "id") String sortBy,
+          @RequestParam(defaultValue = "asc") String sortDir,
+          @RequestParam(required = false) String sort,
+          WebRequest webRequest) {
+    String eTag = changeCounters.eTag(ChangeCounters.Listing.ASSIGNMENTS);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+
+    Sort.Order order = ListingSort.order(sort, sortBy, sortDir);
+    CursorPagedResponse<AssignmentResponse> assignments =
+            assignmentService.getAssignmentsAfter(after, size, order, isActive, employeeId, assetId);
+    return ConditionalGet.ok(eTag, assignments);
   }
 
   @GetMapping("/employee/assignments")
   @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-  public ResponseEntity<List<AssignmentResponse>> getMyAssignmentHistory(Authentication authentication) {
+  public ResponseEntity<List<AssignmentResponse>> getMyAssignmentHistory(Authentication authentication,
+                                                                        WebRequest webRequest) {
     String email = authentication.getName();
+    String eTag = ConditionalGet.userETag(changeCounters.eTag(ChangeCounters.Listing.ASSIGNMENTS), email);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
     List<AssignmentResponse> assignments = assignmentService.getAssignmentHistoryByEmployeeEmail(email);
-    return ResponseEntity.ok(assignments);
+    return ConditionalGet.ok(eTag, assignments);
+  }
+
+  @GetMapping(value = "/employee/assignments", params = "after")
+  @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+  public ResponseEntity<CursorPagedResponse<AssignmentResponse>> getMyAssignmentHistoryAfter(
+          @RequestParam String after,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "id") String sortBy,
+          @RequestParam(defaultValue = "asc") String sortDir,
+          @RequestParam(required = false) String sort,
+          Authentication authentication,
+          WebRequest webRequest) {
+    String email = authentication.getName();
+    String eTag = ConditionalGet.userETag(changeCounters.eTag(ChangeCounters.Listing.ASSIGNMENTS), email);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+
+    Sort.Order order = ListingSort.order(sort, sortBy, sortDir);
+    CursorPagedResponse<AssignmentResponse> assignments =
+            assignmentService.getAssignmentHistoryAfter(email, after, size, order);
+    return ConditionalGet.ok(eTag, assignments);
+  }
+
+  /**
+   * The whole history as one JSON array, written while rows are read from the database instead of after
+   * the list is built.
+   */
+  @GetMapping(value = "/employee/assignments", params = "stream=true")
+  @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+  public ResponseEntity<StreamingResponseBody> streamMyAssignmentHistory(Authentication authentication,
+                                                                       WebRequest webRequest) {
+    String email = authentication.getName();
+    String eTag = ConditionalGet.userETag(changeCounters.eTag(ChangeCounters.Listing.ASSIGNMENTS), email);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+
+    Long employeeId = assignmentService.getEmployeeIdByEmail(email);
+    StreamingResponseBody body = outputStream -> {
+      try (JsonGenerator generator = jsonMapper.createGenerator(outputStream)) {
+        generator.writeStartArray();
+        assignmentService.forEachAssignmentInHistory(employeeId, generator::writePOJO);
+        generator.writeEndArray();
+      }
+    };
+    return ConditionalGet.ok(eTag, MediaType.APPLICATION_JSON, body);
   }
 }
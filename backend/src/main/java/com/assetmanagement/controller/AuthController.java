@@ -2,8 +2,11 @@ package com.assetmanagement.controller;
 
 import com.assetmanagement.dto.request.ChangePasswordRequest;
 import com.assetmanagement.dto.request.LoginRequest;
+import com.assetmanagement.dto.request.RefreshTokenRequest;
 import com.assetmanagement.dto.response.LoginResponse;
+import com.assetmanagement.security.LoginRateLimiter;
 import com.assetmanagement.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,15 +18,28 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
   private final AuthService authService;
+  private final LoginRateLimiter loginRateLimiter;
 
   @PostMapping("/login")
-  public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+  public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request,
+                                             HttpServletRequest httpRequest) {
+    loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.getEmail());
     LoginResponse response = authService.login(request);
     return ResponseEntity.ok(response);
   }
 
+  @PostMapping("/refresh")
+  public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request,
+                                               HttpServletRequest httpRequest) {
+    loginRateLimiter.acquire(httpRequest.getRemoteAddr(), null);
+    LoginResponse response = authService.refresh(request);
+    return ResponseEntity.ok(response);
+  }
+
   @PostMapping("/change-password")
-  public ResponseEntity<Void> changePassword(@Valid @RequestBody ChangePasswordRequest request) {
+  public ResponseEntity<Void> changePassword(@Valid @RequestBody ChangePasswordRequest request,
+                                             HttpServletRequest httpRequest) {
+    loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.getEmail());
     authService.changePassword(request);
     return ResponseEntity.noContent().build();
   }
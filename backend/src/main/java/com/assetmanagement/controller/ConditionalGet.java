@@ -0,0 +1,33 @@
+package com.assetmanagement.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Responses carrying an ETag. Browsers keep them but revalidate every time, so an unchanged resource
+ * costs a 304 instead of the full payload.
+ */
+final class ConditionalGet {
+
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+  private ConditionalGet() {
+  }
+
+  static String resourceETag(String resource, Long id, long version) {
+    return resource + "-" + id + "-" + version;
+  }
+
+  static String userETag(String listingETag, String email) {
+    return listingETag + "-" + Integer.toHexString(email.hashCode());
+  }
+
+  static <T> ResponseEntity<T> ok(String eTag, T body) {
+    return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(eTag).body(body);
+  }
+
+  static <T> ResponseEntity<T> ok(String eTag, MediaType contentType, T body) {
+    return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(eTag).contentType(contentType).body(body);
+  }
+}
@@ -1,15 +1,25 @@
 package com.assetmanagement.controller;
 
 import com.assetmanagement.dto.request.CreateEmployeeRequest;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.EmployeeResponse;
+import com.assetmanagement.dto.response.OptionResponse;
+import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
+import com.assetmanagement.service.ChangeCounters;
 import com.assetmanagement.service.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,6 +29,7 @@ import java.util.List;
 public class EmployeeController {
 
   private final EmployeeService employeeService;
+  private final ChangeCounters changeCounters;
 
   @PostMapping
   public ResponseEntity<EmployeeResponse> createEmployee(@Valid @RequestBody CreateEmployeeRequest request) {
@@ -27,14 +38,74 @@ public class EmployeeController {
   }
 
   @GetMapping
-  public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
-    List<EmployeeResponse> employees = employeeService.getAllEmployees();
+  public ResponseEntity<PagedResponse<EmployeeResponse>> getAllEmployees(
+          @RequestParam(defaultValue = "0") int page,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "id") String sortBy,
+          @RequestParam(defaultValue = "asc") String sortDir,
+          @RequestParam(required = false) String sort,
+          @RequestParam(required = false) Boolean isCurrent,
+          WebRequest webRequest) {
+    String eTag = listingETag(isCurrent);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    Pageable pageable = PageRequest.of(page, size, Sort.by(ListingSort.order(sort, sortBy, sortDir)));
+    PagedResponse<EmployeeResponse> employees = employeeService.getAllEmployees(pageable, isCurrent);
+    return ConditionalGet.ok(eTag, employees);
+  }
+
+  @GetMapping(params = "after")
+  public ResponseEntity<CursorPagedResponse<EmployeeResponse>> getEmployeesAfter(
+          @RequestParam String after,
+          @RequestParam(defaultValue = "20") int size,
+          @RequestParam(defaultValue = "id") String sortBy,
+          @RequestParam(defaultValue = "asc") String sortDir,
+          @RequestParam(required = false) String sort,
+          @RequestParam(required = false) Boolean isCurrent,
+          WebRequest webRequest) {
+    String eTag = listingETag(isCurrent);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    Sort.Order order = ListingSort.order(sort, sortBy, sortDir);
+    CursorPagedResponse<EmployeeResponse> employees = employeeService.getEmployeesAfter(after, size, order, isCurrent);
+    return ConditionalGet.ok(eTag, employees);
+  }
+
+  // Whether someone is a current employee changes with the date, not only with writes.
+  private String listingETag(Boolean isCurrent) {
+    String eTag = changeCounters.eTag(ChangeCounters.Listing.EMPLOYEES);
+    return isCurrent == null ? eTag : eTag + "-" + LocalDate.now();
+  }
+
+  @GetMapping("/options")
+  public ResponseEntity<List<OptionResponse>> getEmployeeOptions(@RequestParam(required = false) String prefix,
+                                                                 @RequestParam(defaultValue = "20") int limit,
+                                                                 WebRequest webRequest) {
+    String eTag = changeCounters.eTag(ChangeCounters.Listing.EMPLOYEES);
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
+    List<OptionResponse> options = employeeService.getEmployeeOptions(prefix, limit);
+    return ConditionalGet.ok(eTag, options);
+  }
+
+  @GetMapping("/search")
+  public ResponseEntity<SlicedResponse<EmployeeResponse>> searchEmployees(@RequestParam String q,
+                                                                          @RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(defaultValue = "20") int size) {
+    SlicedResponse<EmployeeResponse> employees = employeeService.searchEmployees(q, PageRequest.of(page, size));
     return ResponseEntity.ok(employees);
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable Long id) {
+  public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable Long id, WebRequest webRequest) {
+    String eTag = ConditionalGet.resourceETag("employee", id, employeeService.getEmployeeVersion(id));
+    if (webRequest.checkNotModified(eTag)) {
+      return null;
+    }
     EmployeeResponse employee = employeeService.getEmployeeById(id);
-    return ResponseEntity.ok(employee);
+    return ConditionalGet.ok(eTag, employee);
   }
 }
@@ -0,0 +1,20 @@
+package com.assetmanagement.controller;
+
+import org.springframework.data.domain.Sort;
+
+final class ListingSort {
+
+  private ListingSort() {
+  }
+
+  static Sort.Order order(String sort, String sortBy, String sortDir) {
+    String property = sortBy;
+    String direction = sortDir;
+    if (sort != null && !sort.isBlank()) {
+      String[] parts = sort.split(",", 2);
+      property = parts[0].trim();
+      direction = parts.length > 1 ? parts[1].trim() : "asc";
+    }
+    return direction.equalsIgnoreCase("desc") ? Sort.Order.desc(property) : Sort.Order.asc(property);
+  }
+}
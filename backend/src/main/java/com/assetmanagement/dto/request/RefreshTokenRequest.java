@@ -0,0 +1,15 @@
+package com.assetmanagement.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequest {
+
+  @NotBlank(message = "Token odświeżania jest wymagany")
+  private String refreshToken;
+}
@@ -0,0 +1,21 @@
+package com.assetmanagement.dto.response;
+
+import com.assetmanagement.model.AssetType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetSearchResponse {
+
+  private Long id;
+  private AssetType assetType;
+  private String vendor;
+  private String model;
+  private String seriesNumber;
+  @JsonProperty("isActive")
+  private boolean isActive;
+}
@@ -1,5 +1,6 @@
 package com.assetmanagement.dto.response;
 
+import com.assetmanagement.model.AssetType;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,4 +25,11 @@ public class AssignmentResponse {
   private LocalDate assignedUntil;
   @JsonProperty("isActive")
   private boolean isActive;
+
+  public AssignmentResponse(Long id, Long assetId, AssetType assetType, String vendor, String model,
+                            String seriesNumber, Long employeeId, String employeeFullName,
+                            LocalDate assignedFrom, LocalDate assignedUntil) {
+    this(id, assetId, assetType.name(), vendor, model, seriesNumber, employeeId, employeeFullName,
+            assignedFrom, assignedUntil, assignedUntil == null);
+  }
 }
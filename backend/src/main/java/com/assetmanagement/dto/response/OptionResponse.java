@@ -0,0 +1,14 @@
+package com.assetmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptionResponse {
+
+  private Long id;
+  private String label;
+}
@@ -0,0 +1,17 @@
+package com.assetmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlicedResponse<T> {
+  private List<T> content;
+  private int page;
+  private int size;
+  private boolean hasNext;
+}
@@ -1,6 +1,9 @@
 package com.assetmanagement.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -19,4 +22,23 @@ public class GlobalExceptionHandler {
         .body(new ErrorDetails(
                 LocalDateTime.now(), e.getHttpStatus().getReasonPhrase(), e.getMessage()));
   }
+
+  @ExceptionHandler(RetryLaterException.class)
+  public ResponseEntity<?> handleException(RetryLaterException e) {
+    log.warn("Session API request rejected: {}", e.getMessage());
+    return ResponseEntity.status(e.getHttpStatus())
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000)))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new ErrorDetails(
+                LocalDateTime.now(), e.getHttpStatus().getReasonPhrase(), e.getMessage()));
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<?> handleException(OptimisticLockingFailureException e) {
+    log.warn("Session API concurrent update rejected: {}", e.getMessage());
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new ErrorDetails(LocalDateTime.now(), HttpStatus.CONFLICT.getReasonPhrase(),
+                "Dane zostały w międzyczasie zmienione przez innego użytkownika, odśwież je i spróbuj ponownie"));
+  }
 }
@@ -0,0 +1,18 @@
+package com.assetmanagement.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Getter
+public class RetryLaterException extends ApplicationException {
+
+  private final Duration retryAfter;
+
+  public RetryLaterException(HttpStatus httpStatus, String message, Duration retryAfter) {
+    super(httpStatus, message);
+    this.retryAfter = retryAfter;
+  }
+
+}
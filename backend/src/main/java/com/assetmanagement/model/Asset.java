@@ -2,16 +2,33 @@ package com.assetmanagement.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "assets")
+@Table(
+        name = "assets",
+        indexes = {
+                @Index(name = "idx_asset_active_type_id", columnList = "is_active, asset_type, id"),
+                @Index(name = "idx_asset_type_id", columnList = "asset_type, id"),
+                @Index(name = "idx_asset_vendor_id", columnList = "vendor, id"),
+                @Index(name = "idx_asset_model_id", columnList = "model, id"),
+                @Index(name = "idx_asset_current_assignment", columnList = "current_assignment_id"),
+                @Index(name = "idx_asset_current_employee", columnList = "current_employee_id")
+        }
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "assets")
+@NaturalIdCache(region = "assets-by-series-number")
 public class Asset {
 
   @Id
@@ -21,7 +38,7 @@ public class Asset {
   private Long id;
 
   @Enumerated(EnumType.STRING)
-  @Column(nullable = false)
+  @Column(name = "asset_type", nullable = false)
   private AssetType assetType;
 
   @Column(nullable = false)
@@ -30,13 +47,40 @@ public class Asset {
   @Column(nullable = false)
   private String model;
 
+  @NaturalId
   @Column(nullable = false, unique = true)
   private String seriesNumber;
 
-  @Column(nullable = false)
+  @Column(name = "is_active", nullable = false)
   private boolean isActive = true;
 
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private long version;
+
+  @OneToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "current_assignment_id")
+  private Assignment currentAssignment;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "current_employee_id")
+  private Employee currentEmployee;
+
   @OneToMany(mappedBy = "asset", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<Assignment> assignments = new ArrayList<>();
 
+  public void assign(Assignment assignment) {
+    this.currentAssignment = assignment;
+    this.currentEmployee = assignment.getEmployee();
+  }
+
+  public void release() {
+    this.currentAssignment = null;
+    this.currentEmployee = null;
+  }
+
+  public boolean isAssigned() {
+    return currentAssignment != null;
+  }
 }
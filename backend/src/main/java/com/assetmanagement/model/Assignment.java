@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
@@ -12,10 +13,11 @@ import java.time.LocalDate;
 @Table(
         name = "assignments",
         indexes = {
-                @Index(name = "idx_assignment_asset", columnList = "asset_id"),
-                @Index(name = "idx_assignment_employee", columnList = "employee_id"),
-                @Index(name = "idx_assignment_assigned_from", columnList = "assigned_from"),
-                @Index(name = "idx_assignment_assigned_until", columnList = "assigned_until")
+                @Index(name = "idx_assignment_asset_until", columnList = "asset_id, assigned_until"),
+                @Index(name = "idx_assignment_employee_until", columnList = "employee_id, assigned_until"),
+                @Index(name = "idx_assignment_employee_id", columnList = "employee_id, id"),
+                @Index(name = "idx_assignment_assigned_from_id", columnList = "assigned_from, id"),
+                @Index(name = "idx_assignment_assigned_until_id", columnList = "assigned_until, id")
         }
 )
 @NoArgsConstructor
@@ -44,6 +46,11 @@ public class Assignment {
   @Column(name = "assigned_until")
   private LocalDate assignedUntil;
 
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private long version;
+
   public boolean isActive(LocalDate date) {
     return !date.isBefore(assignedFrom) &&
             (assignedUntil == null || !date.isAfter(assignedUntil));
@@ -0,0 +1,22 @@
+package com.assetmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "collection_versions")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CollectionVersion {
+  @Id
+  @Column(length = 32)
+  private String name;
+
+  @Column(nullable = false)
+  private long version;
+}
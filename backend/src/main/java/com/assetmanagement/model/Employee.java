@@ -5,17 +5,31 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "employees")
+@Table(
+        name = "employees",
+        indexes = {
+                @Index(name = "idx_employee_full_name_id", columnList = "full_name, id"),
+                @Index(name = "idx_employee_hired_from_id", columnList = "hired_from, id"),
+                @Index(name = "idx_employee_hired_until_id", columnList = "hired_until, id")
+        }
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+@NaturalIdCache(region = "employees-by-email")
 public class Employee {
   @Id
   // @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
@@ -23,9 +37,10 @@ public class Employee {
   @GeneratedValue(strategy = GenerationType.IDENTITY) 
   private Long id;
 
-  @Column(nullable = false)
+  @Column(name = "full_name", nullable = false)
   private String fullName;
 
+  @NaturalId
   @Column(nullable = false, unique = true)
   private String email;
 
@@ -42,10 +57,23 @@ public class Employee {
   @Column(name = "hired_until")
   private LocalDate hiredUntil;
 
+  @ColumnDefault("0")
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
+
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private long version;
+
   @OneToMany(
           mappedBy = "employee",
           cascade = CascadeType.ALL,
           orphanRemoval = true
   )
   private List<Assignment> assignments = new ArrayList<>();
+
+  public void revokeTokens() {
+    this.tokenVersion++;
+  }
 }
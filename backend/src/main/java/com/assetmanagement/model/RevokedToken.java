@@ -0,0 +1,29 @@
+package com.assetmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "revoked_tokens",
+        indexes = {
+                @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+        }
+)
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RevokedToken {
+  @Id
+  @Column(length = 36)
+  private String jti;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+}
@@ -0,0 +1,6 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.model.AssetType;
+
+public record AssetFilter(Boolean isActive, AssetType assetType, Boolean isAssigned) {
+}
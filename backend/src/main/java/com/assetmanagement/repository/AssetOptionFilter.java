@@ -0,0 +1,4 @@
+package com.assetmanagement.repository;
+
+public record AssetOptionFilter(String prefix, boolean availableOnly) {
+}
@@ -1,48 +1,52 @@
 package com.assetmanagement.repository;
 
+import com.assetmanagement.dto.response.AssetSearchResponse;
 import com.assetmanagement.model.Asset;
-import com.assetmanagement.model.AssetType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface AssetRepository extends JpaRepository<Asset, Long> {
-
-  Optional<Asset> findBySeriesNumber(String seriesNumber);
+public interface AssetRepository extends JpaRepository<Asset, Long>, AssetRepositoryCustom {
 
   boolean existsBySeriesNumber(String seriesNumber);
 
-  Page<Asset> findByIsActive(boolean isActive, Pageable pageable);
-
-  Page<Asset> findByAssetType(AssetType assetType, Pageable pageable);
-
-  Page<Asset> findByIsActiveAndAssetType(boolean isActive, AssetType assetType, Pageable pageable);
-
-  @Query("SELECT a FROM Asset a WHERE EXISTS (SELECT 1 FROM Assignment asg WHERE asg.asset = a AND asg.assignedUntil IS NULL)")
-  Page<Asset> findAssigned(Pageable pageable);
-
-  @Query("SELECT a FROM Asset a WHERE NOT EXISTS (SELECT 1 FROM Assignment asg WHERE asg.asset = a AND asg.assignedUntil IS NULL)")
-  Page<Asset> findUnassigned(Pageable pageable);
-
-  @Query("SELECT a FROM Asset a WHERE a.isActive = :isActive AND EXISTS (SELECT 1 FROM Assignment asg WHERE asg.asset = a AND asg.assignedUntil IS NULL)")
-  Page<Asset> findByIsActiveAndAssigned(@Param("isActive") boolean isActive, Pageable pageable);
-
-  @Query("SELECT a FROM Asset a WHERE a.isActive = :isActive AND NOT EXISTS (SELECT 1 FROM Assignment asg WHERE asg.asset = a AND asg.assignedUntil IS NULL)")
-  Page<Asset> findByIsActiveAndUnassigned(@Param("isActive") boolean isActive, Pageable pageable);
-
-  @Query("SELECT a FROM Asset a WHERE a.assetType = :assetType AND EXISTS (SELECT 1 FROM Assignment asg WHERE asg.asset = a AND asg.assignedUntil IS NULL)")
-  Page<Asset> findByAssetTypeAndAssigned(@Param("assetType") AssetType assetType, Pageable pageable);
-
-  @Query("SELECT a FROM Asset a WHERE a.assetType = :assetType AND NOT EXISTS (SELECT 1 FROM Assignment asg WHERE asg.asset = a AND asg.assignedUntil IS NULL)")
-  Page<Asset> findByAssetTypeAndUnassigned(@Param("assetType") AssetType assetType, Pageable pageable);
-
-  @Query("SELECT a FROM Asset a WHERE a.isActive = :isActive AND a.assetType = :assetType AND EXISTS (SELECT 1 FROM Assignment asg WHERE asg.asset = a AND asg.assignedUntil IS NULL)")
-  Page<Asset> findByIsActiveAndAssetTypeAndAssigned(@Param("isActive") boolean isActive, @Param("assetType") AssetType assetType, Pageable pageable);
-
-  @Query("SELECT a FROM Asset a WHERE a.isActive = :isActive AND a.assetType = :assetType AND NOT EXISTS (SELECT 1 FROM Assignment asg WHERE asg.asset = a AND asg.assignedUntil IS NULL)")
-  Page<Asset> findByIsActiveAndAssetTypeAndUnassigned(@Param("isActive") boolean isActive, @Param("assetType") AssetType assetType, Pageable pageable);
+  @EntityGraph(attributePaths = "currentEmployee")
+  @Override
+  List<Asset> findAll();
+
+  @EntityGraph(attributePaths = "currentEmployee")
+  @Override
+  Page<Asset> findAll(Pageable pageable);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT new com.assetmanagement.dto.response.AssetSearchResponse(a.id, a.assetType, a.vendor, a.model, a.seriesNumber, a.isActive) "
+          + "FROM Asset a")
+  Stream<AssetSearchResponse> streamSearchEntries();
+
+  @Modifying(clearAutomatically = true)
+  @Query(value = "UPDATE assets a SET current_assignment_id = "
+          + "(SELECT MAX(asg.id) FROM assignments asg WHERE asg.asset_id = a.id AND asg.assigned_until IS NULL), "
+          + "version = version + 1 "
+          + "WHERE COALESCE(a.current_assignment_id, 0) <> "
+          + "COALESCE((SELECT MAX(asg.id) FROM assignments asg WHERE asg.asset_id = a.id AND asg.assigned_until IS NULL), 0)",
+          nativeQuery = true)
+  int repairCurrentAssignments();
+
+  @Modifying(clearAutomatically = true)
+  @Query(value = "UPDATE assets a SET current_employee_id = "
+          + "(SELECT asg.employee_id FROM assignments asg WHERE asg.id = a.current_assignment_id), "
+          + "version = version + 1 "
+          + "WHERE COALESCE(a.current_employee_id, 0) <> "
+          + "COALESCE((SELECT asg.employee_id FROM assignments asg WHERE asg.id = a.current_assignment_id), 0)",
+          nativeQuery = true)
+  int repairCurrentEmployees();
 }
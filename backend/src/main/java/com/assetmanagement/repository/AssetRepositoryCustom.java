@@ -0,0 +1,26 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.dto.response.AssetResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
+import com.assetmanagement.dto.response.OptionResponse;
+import com.assetmanagement.model.Asset;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AssetRepositoryCustom {
+
+  Optional<Asset> findBySeriesNumber(String seriesNumber);
+
+  Page<AssetResponse> findAssets(AssetFilter filter, Pageable pageable);
+
+  Slice<AssetResponse> findAssetSlice(AssetFilter filter, Pageable pageable);
+
+  CursorPagedResponse<AssetResponse> findAssetsAfter(AssetFilter filter, Sort.Order order, String after, int size);
+
+  List<OptionResponse> findAssetOptions(AssetOptionFilter filter, int limit);
+}
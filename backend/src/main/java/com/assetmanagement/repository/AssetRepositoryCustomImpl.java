@@ -0,0 +1,94 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.dto.response.AssetResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
+import com.assetmanagement.dto.response.OptionResponse;
+import com.assetmanagement.model.Asset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+class AssetRepositoryCustomImpl implements AssetRepositoryCustom {
+
+  static final FilterQueryTemplate<AssetFilter> QUERY = new FilterQueryTemplate<AssetFilter>(
+          "SELECT new com.assetmanagement.dto.response.AssetResponse(a.id, a.assetType, a.vendor, a.model, a.seriesNumber, a.isActive, e.id, e.fullName, e.email) "
+                  + "FROM Asset a LEFT JOIN a.currentEmployee e",
+          "SELECT COUNT(a) FROM Asset a",
+          "a",
+          new SortRegistry("a.id")
+                  .key("assetType", "a.assetType")
+                  .key("vendor", "a.vendor")
+                  .key("model", "a.model")
+                  .key("seriesNumber", "a.seriesNumber"))
+          .predicate(f -> f.isActive() != null, "a.isActive = :isActive",
+                  (f, q) -> q.setParameter("isActive", f.isActive()))
+          .predicate(f -> f.assetType() != null, "a.assetType = :assetType",
+                  (f, q) -> q.setParameter("assetType", f.assetType()))
+          .predicate(f -> Boolean.TRUE.equals(f.isAssigned()), "a.currentAssignment IS NOT NULL")
+          .predicate(f -> Boolean.FALSE.equals(f.isAssigned()), "a.currentAssignment IS NULL");
+
+  static final FilterQueryTemplate<AssetOptionFilter> OPTIONS = new FilterQueryTemplate<AssetOptionFilter>(
+          "SELECT new com.assetmanagement.dto.response.OptionResponse(a.id, CONCAT(a.vendor, ' ', a.model, ' (', a.seriesNumber, ')')) "
+                  + "FROM Asset a",
+          "SELECT COUNT(a) FROM Asset a",
+          "a",
+          new SortRegistry("a.id")
+                  .key("vendor", "a.vendor")
+                  .key("model", "a.model"))
+          .predicate(AssetOptionFilter::availableOnly, "a.isActive = true AND a.currentAssignment IS NULL")
+          .predicate(f -> f.prefix() != null,
+                  "(a.vendor LIKE :prefix ESCAPE '!' OR a.model LIKE :prefix ESCAPE '!' OR a.seriesNumber LIKE :prefix ESCAPE '!')",
+                  (f, q) -> q.setParameter("prefix", FilterQueryTemplate.startsWith(f.prefix())));
+
+  static final Sort OPTION_ORDER = Sort.by("vendor");
+
+  static final Map<String, KeysetKey<AssetResponse>> KEYSET_KEYS = Map.of(
+          "id", new KeysetKey<>(AssetResponse::getId, Long::valueOf),
+          "vendor", new KeysetKey<>(AssetResponse::getVendor, Function.identity()),
+          "model", new KeysetKey<>(AssetResponse::getModel, Function.identity()),
+          "seriesNumber", new KeysetKey<>(AssetResponse::getSeriesNumber, Function.identity()));
+
+  private final ListingCountCache countCache;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<Asset> findBySeriesNumber(String seriesNumber) {
+    return entityManager.unwrap(Session.class).bySimpleNaturalId(Asset.class).loadOptional(seriesNumber);
+  }
+
+  @Override
+  public Page<AssetResponse> findAssets(AssetFilter filter, Pageable pageable) {
+    return QUERY.findPage(entityManager, AssetResponse.class, filter, pageable,
+            () -> countCache.count(filter, () -> QUERY.count(entityManager, filter)));
+  }
+
+  @Override
+  public Slice<AssetResponse> findAssetSlice(AssetFilter filter, Pageable pageable) {
+    return QUERY.findSlice(entityManager, AssetResponse.class, filter, pageable);
+  }
+
+  @Override
+  public CursorPagedResponse<AssetResponse> findAssetsAfter(AssetFilter filter, Sort.Order order, String after, int size) {
+    return QUERY.findAfter(entityManager, AssetResponse.class, KEYSET_KEYS, filter, order, after, size);
+  }
+
+  @Override
+  public List<OptionResponse> findAssetOptions(AssetOptionFilter filter, int limit) {
+    return OPTIONS.findFirst(entityManager, OptionResponse.class, filter, OPTION_ORDER, limit);
+  }
+}
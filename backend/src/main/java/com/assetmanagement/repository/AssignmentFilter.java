@@ -0,0 +1,4 @@
+package com.assetmanagement.repository;
+
+public record AssignmentFilter(Boolean isActive, Long employeeId, Long assetId) {
+}
@@ -1,62 +1,53 @@
 package com.assetmanagement.repository;
 
+import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.EmployeeAssetResponse;
 import com.assetmanagement.model.Assignment;
 import com.assetmanagement.model.Asset;
 import com.assetmanagement.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
+public interface AssignmentRepository extends JpaRepository<Assignment, Long>, AssignmentRepositoryCustom {
 
+  @EntityGraph(attributePaths = {"asset", "employee"})
   List<Assignment> findByEmployee(Employee employee);
 
+  @EntityGraph(attributePaths = {"asset", "employee"})
   List<Assignment> findByAsset(Asset asset);
 
-  @Query("SELECT a FROM Assignment a WHERE a.employee.id = :employeeId AND a.assignedUntil IS NULL")
-  List<Assignment> findActiveByEmployeeId(@Param("employeeId") Long employeeId);
-
-  @Query("SELECT a FROM Assignment a WHERE a.asset.id = :assetId AND a.assignedUntil IS NULL")
-  Optional<Assignment> findActiveByAssetId(@Param("assetId") Long assetId);
-
-  @Query("SELECT a FROM Assignment a WHERE a.assignedUntil IS NULL")
-  Page<Assignment> findActive(Pageable pageable);
-
-  @Query("SELECT a FROM Assignment a WHERE a.assignedUntil IS NOT NULL")
-  Page<Assignment> findEnded(Pageable pageable);
+  @EntityGraph(attributePaths = {"asset", "employee"})
+  @Override
+  List<Assignment> findAll();
 
-  // Filtrowanie po pracowniku z paginacją
-  @Query("SELECT a FROM Assignment a WHERE a.employee.id = :employeeId")
-  Page<Assignment> findByEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
+  @EntityGraph(attributePaths = {"asset", "employee"})
+  @Override
+  Page<Assignment> findAll(Pageable pageable);
 
+  @EntityGraph(attributePaths = "asset")
   @Query("SELECT a FROM Assignment a WHERE a.employee.id = :employeeId AND a.assignedUntil IS NULL")
-  Page<Assignment> findActiveByEmployeeIdPaged(@Param("employeeId") Long employeeId, Pageable pageable);
-
-  @Query("SELECT a FROM Assignment a WHERE a.employee.id = :employeeId AND a.assignedUntil IS NOT NULL")
-  Page<Assignment> findEndedByEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
-
-  // Filtrowanie po zasobie z paginacją
-  @Query("SELECT a FROM Assignment a WHERE a.asset.id = :assetId")
-  Page<Assignment> findByAssetId(@Param("assetId") Long assetId, Pageable pageable);
-
-  @Query("SELECT a FROM Assignment a WHERE a.asset.id = :assetId AND a.assignedUntil IS NULL")
-  Page<Assignment> findActiveByAssetIdPaged(@Param("assetId") Long assetId, Pageable pageable);
-
-  @Query("SELECT a FROM Assignment a WHERE a.asset.id = :assetId AND a.assignedUntil IS NOT NULL")
-  Page<Assignment> findEndedByAssetId(@Param("assetId") Long assetId, Pageable pageable);
+  List<Assignment> findActiveByEmployeeId(@Param("employeeId") Long employeeId);
 
-  // Filtrowanie po pracowniku i zasobie z paginacją
-  @Query("SELECT a FROM Assignment a WHERE a.employee.id = :employeeId AND a.asset.id = :assetId")
-  Page<Assignment> findByEmployeeIdAndAssetId(@Param("employeeId") Long employeeId, @Param("assetId") Long assetId, Pageable pageable);
+  @Query("SELECT new com.assetmanagement.dto.response.EmployeeAssetResponse(s.assetType, s.vendor, s.model, s.seriesNumber, a.assignedFrom) FROM Assignment a JOIN a.asset s WHERE a.employee.id = :employeeId AND a.assignedUntil IS NULL")
+  List<EmployeeAssetResponse> findActiveAssetResponsesByEmployeeId(@Param("employeeId") Long employeeId);
 
-  @Query("SELECT a FROM Assignment a WHERE a.employee.id = :employeeId AND a.asset.id = :assetId AND a.assignedUntil IS NULL")
-  Page<Assignment> findActiveByEmployeeIdAndAssetId(@Param("employeeId") Long employeeId, @Param("assetId") Long assetId, Pageable pageable);
+  @Query("SELECT new com.assetmanagement.dto.response.AssignmentResponse(a.id, s.id, s.assetType, s.vendor, s.model, s.seriesNumber, e.id, e.fullName, a.assignedFrom, a.assignedUntil) FROM Assignment a JOIN a.asset s JOIN a.employee e WHERE e.id = :employeeId")
+  List<AssignmentResponse> findResponsesByEmployeeId(@Param("employeeId") Long employeeId);
 
-  @Query("SELECT a FROM Assignment a WHERE a.employee.id = :employeeId AND a.asset.id = :assetId AND a.assignedUntil IS NOT NULL")
-  Page<Assignment> findEndedByEmployeeIdAndAssetId(@Param("employeeId") Long employeeId, @Param("assetId") Long assetId, Pageable pageable);
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT new com.assetmanagement.dto.response.AssignmentResponse(a.id, s.id, s.assetType, s.vendor, s.model, s.seriesNumber, e.id, e.fullName, a.assignedFrom, a.assignedUntil) FROM Assignment a JOIN a.asset s JOIN a.employee e WHERE e.id = :employeeId ORDER BY a.id")
+  Stream<AssignmentResponse> streamResponsesByEmployeeId(@Param("employeeId") Long employeeId);
 }
@@ -0,0 +1,17 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+public interface AssignmentRepositoryCustom {
+
+  Page<AssignmentResponse> findAssignments(AssignmentFilter filter, Pageable pageable);
+
+  Slice<AssignmentResponse> findAssignmentSlice(AssignmentFilter filter, Pageable pageable);
+
+  CursorPagedResponse<AssignmentResponse> findAssignmentsAfter(AssignmentFilter filter, Sort.Order order, String after, int size);
+}
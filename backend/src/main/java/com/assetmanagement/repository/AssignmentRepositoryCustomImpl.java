@@ -0,0 +1,58 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class AssignmentRepositoryCustomImpl implements AssignmentRepositoryCustom {
+
+  static final FilterQueryTemplate<AssignmentFilter> QUERY = new FilterQueryTemplate<AssignmentFilter>(
+          "SELECT new com.assetmanagement.dto.response.AssignmentResponse(a.id, s.id, s.assetType, s.vendor, s.model, s.seriesNumber, e.id, e.fullName, a.assignedFrom, a.assignedUntil) "
+                  + "FROM Assignment a JOIN a.asset s JOIN a.employee e",
+          "SELECT COUNT(a) FROM Assignment a",
+          "a",
+          new SortRegistry("a.id")
+                  .key("assignedFrom", "a.assignedFrom")
+                  .key("assignedUntil", "a.assignedUntil"))
+          .predicate(f -> f.employeeId() != null, "a.employee.id = :employeeId",
+                  (f, q) -> q.setParameter("employeeId", f.employeeId()))
+          .predicate(f -> f.assetId() != null, "a.asset.id = :assetId",
+                  (f, q) -> q.setParameter("assetId", f.assetId()))
+          .predicate(f -> Boolean.TRUE.equals(f.isActive()), "a.assignedUntil IS NULL")
+          .predicate(f -> Boolean.FALSE.equals(f.isActive()), "a.assignedUntil IS NOT NULL");
+
+  static final Map<String, KeysetKey<AssignmentResponse>> KEYSET_KEYS = Map.of(
+          "id", new KeysetKey<>(AssignmentResponse::getId, Long::valueOf),
+          "assignedFrom", new KeysetKey<>(AssignmentResponse::getAssignedFrom, LocalDate::parse));
+
+  private final ListingCountCache countCache;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Page<AssignmentResponse> findAssignments(AssignmentFilter filter, Pageable pageable) {
+    return QUERY.findPage(entityManager, AssignmentResponse.class, filter, pageable,
+            () -> countCache.count(filter, () -> QUERY.count(entityManager, filter)));
+  }
+
+  @Override
+  public Slice<AssignmentResponse> findAssignmentSlice(AssignmentFilter filter, Pageable pageable) {
+    return QUERY.findSlice(entityManager, AssignmentResponse.class, filter, pageable);
+  }
+
+  @Override
+  public CursorPagedResponse<AssignmentResponse> findAssignmentsAfter(AssignmentFilter filter, Sort.Order order, String after, int size) {
+    return QUERY.findAfter(entityManager, AssignmentResponse.class, KEYSET_KEYS, filter, order, after, size);
+  }
+}
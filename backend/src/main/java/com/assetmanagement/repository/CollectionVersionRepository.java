@@ -0,0 +1,26 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.model.CollectionVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface CollectionVersionRepository extends JpaRepository<CollectionVersion, String> {
+
+  @Query("SELECT c.version FROM CollectionVersion c WHERE c.name = :name")
+  Optional<Long> findVersion(@Param("name") String name);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE CollectionVersion c SET c.version = c.version + 1 WHERE c.name = :name")
+  int increment(@Param("name") String name);
+
+  @Transactional
+  @Modifying
+  @Query(value = "INSERT INTO collection_versions (name, version) VALUES (:name, :version)", nativeQuery = true)
+  void insert(@Param("name") String name, @Param("version") long version);
+}
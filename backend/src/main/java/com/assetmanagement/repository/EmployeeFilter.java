@@ -0,0 +1,8 @@
+package com.assetmanagement.repository;
+
+/**
+ * {@code isCurrent} selects employees still employed today (no end date or an end date not yet past)
+ * or, when false, former employees.
+ */
+public record EmployeeFilter(Boolean isCurrent) {
+}
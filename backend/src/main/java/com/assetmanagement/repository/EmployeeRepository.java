@@ -1,13 +1,42 @@
 package com.assetmanagement.repository;
 
+import com.assetmanagement.dto.response.EmployeeResponse;
 import com.assetmanagement.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-
-  Optional<Employee> findByEmail(String email);
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
 
   boolean existsByEmail(String email);
+
+  /**
+   * Replaces the hash only if it is still the one the caller verified, so a concurrent login or password
+   * change wins instead of failing on the version check.
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE Employee e SET e.password = :newPassword WHERE e.id = :id AND e.password = :oldPassword")
+  int replacePasswordHash(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+                          @Param("newPassword") String newPassword);
+
+  @Query("SELECT e.tokenVersion FROM Employee e WHERE e.email = :email")
+  Optional<Integer> findTokenVersionByEmail(@Param("email") String email);
+
+  @Query("SELECT new com.assetmanagement.dto.response.EmployeeResponse(e.id, e.fullName, e.email, e.role, e.hiredFrom, e.hiredUntil) FROM Employee e WHERE e.id IN :ids")
+  List<EmployeeResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT new com.assetmanagement.dto.response.EmployeeResponse(e.id, e.fullName, e.email, e.role, e.hiredFrom, e.hiredUntil) FROM Employee e")
+  Stream<EmployeeResponse> streamAllResponses();
 }
@@ -0,0 +1,23 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.dto.response.CursorPagedResponse;
+import com.assetmanagement.dto.response.EmployeeResponse;
+import com.assetmanagement.dto.response.OptionResponse;
+import com.assetmanagement.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface EmployeeRepositoryCustom {
+
+  Optional<Employee> findByEmail(String email);
+
+  List<OptionResponse> findEmployeeOptions(String prefix, int limit);
+
+  Page<EmployeeResponse> findEmployees(EmployeeFilter filter, Pageable pageable);
+
+  CursorPagedResponse<EmployeeResponse> findEmployeesAfter(EmployeeFilter filter, Sort.Order order, String after, int size);
+}
@@ -0,0 +1,87 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.dto.response.CursorPagedResponse;
+import com.assetmanagement.dto.response.EmployeeResponse;
+import com.assetmanagement.dto.response.OptionResponse;
+import com.assetmanagement.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+  static final FilterQueryTemplate<EmployeeFilter> QUERY = new FilterQueryTemplate<EmployeeFilter>(
+          "SELECT new com.assetmanagement.dto.response.EmployeeResponse(e.id, e.fullName, e.email, e.role, e.hiredFrom, e.hiredUntil) "
+                  + "FROM Employee e",
+          "SELECT COUNT(e) FROM Employee e",
+          "e",
+          new SortRegistry("e.id")
+                  .key("fullName", "e.fullName")
+                  .key("hiredFrom", "e.hiredFrom")
+                  .key("hiredUntil", "e.hiredUntil"))
+          .predicate(f -> Boolean.TRUE.equals(f.isCurrent()), "(e.hiredUntil IS NULL OR e.hiredUntil >= :today)",
+                  (f, q) -> q.setParameter("today", LocalDate.now()))
+          .predicate(f -> Boolean.FALSE.equals(f.isCurrent()), "e.hiredUntil < :today",
+                  (f, q) -> q.setParameter("today", LocalDate.now()));
+
+  static final Map<String, KeysetKey<EmployeeResponse>> KEYSET_KEYS = Map.of(
+          "id", new KeysetKey<>(EmployeeResponse::getId, Long::valueOf),
+          "fullName", new KeysetKey<>(EmployeeResponse::getFullName, Function.identity()),
+          "hiredFrom", new KeysetKey<>(EmployeeResponse::getHiredFrom, LocalDate::parse));
+
+  static final FilterQueryTemplate<String> OPTIONS = new FilterQueryTemplate<String>(
+          "SELECT new com.assetmanagement.dto.response.OptionResponse(e.id, CONCAT(e.fullName, ' (', e.email, ')')) "
+                  + "FROM Employee e",
+          "SELECT COUNT(e) FROM Employee e",
+          "e",
+          new SortRegistry("e.id")
+                  .key("fullName", "e.fullName"))
+          .predicate(Objects::nonNull, "(e.fullName LIKE :prefix ESCAPE '!' OR e.email LIKE :prefix ESCAPE '!')",
+                  (prefix, q) -> q.setParameter("prefix", FilterQueryTemplate.startsWith(prefix)));
+
+  static final Sort OPTION_ORDER = Sort.by("fullName");
+
+  private final ListingCountCache countCache;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Loads by natural id so a repeat lookup is answered from the second-level cache instead of the
+   * {@code email} index.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<Employee> findByEmail(String email) {
+    return entityManager.unwrap(Session.class).bySimpleNaturalId(Employee.class).loadOptional(email);
+  }
+
+  @Override
+  public List<OptionResponse> findEmployeeOptions(String prefix, int limit) {
+    return OPTIONS.findFirst(entityManager, OptionResponse.class, prefix, OPTION_ORDER, limit);
+  }
+
+  @Override
+  public Page<EmployeeResponse> findEmployees(EmployeeFilter filter, Pageable pageable) {
+    return QUERY.findPage(entityManager, EmployeeResponse.class, filter, pageable,
+            () -> countCache.count(filter, () -> QUERY.count(entityManager, filter)));
+  }
+
+  @Override
+  public CursorPagedResponse<EmployeeResponse> findEmployeesAfter(EmployeeFilter filter, Sort.Order order, String after, int size) {
+    return QUERY.findAfter(entityManager, EmployeeResponse.class, KEYSET_KEYS, filter, order, after, size);
+  }
+}
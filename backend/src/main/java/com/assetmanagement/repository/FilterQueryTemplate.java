@@ -0,0 +1,232 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.dto.response.CursorPagedResponse;
+import com.assetmanagement.exception.ApplicationException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Composes optional filter predicates into one JPQL statement. The WHERE clause is rendered once per
+ * bitmask of applied predicates, so Hibernate compiles at most one plan per filter combination.
+ */
+class FilterQueryTemplate<F> {
+
+  private static final String ID = "id";
+  static final int MAX_CURSOR_PAGE_SIZE = 200;
+
+  private final String selectClause;
+  private final String countClause;
+  private final String alias;
+  private final SortRegistry sortRegistry;
+  private final List<FilterPredicate<F>> predicates = new ArrayList<>();
+  private final Map<Integer, String> whereClauses = new ConcurrentHashMap<>();
+
+  FilterQueryTemplate(String selectClause, String countClause, String alias, SortRegistry sortRegistry) {
+    this.selectClause = selectClause;
+    this.countClause = countClause;
+    this.alias = alias;
+    this.sortRegistry = sortRegistry;
+  }
+
+  FilterQueryTemplate<F> predicate(Predicate<F> applies, String jpql) {
+    return predicate(applies, jpql, (filter, query) -> { });
+  }
+
+  FilterQueryTemplate<F> predicate(Predicate<F> applies, String jpql, BiConsumer<F, Query> binder) {
+    if (predicates.size() == Integer.SIZE - 1) {
+      throw new IllegalStateException("Too many filter predicates");
+    }
+    predicates.add(new FilterPredicate<>(applies, jpql, binder));
+    return this;
+  }
+
+  <T> Page<T> findPage(EntityManager entityManager, Class<T> resultType, F filter, Pageable pageable,
+                       LongSupplier total) {
+    int mask = mask(filter);
+
+    TypedQuery<T> query = entityManager.createQuery(selectClause + where(mask) + orderBy(pageable.getSort()), resultType);
+    bind(query, filter, mask);
+    if (pageable.isPaged()) {
+      query.setFirstResult((int) pageable.getOffset());
+      query.setMaxResults(pageable.getPageSize());
+    }
+    List<T> content = query.getResultList();
+
+    return PageableExecutionUtils.getPage(content, pageable, total);
+  }
+
+  <T> Slice<T> findSlice(EntityManager entityManager, Class<T> resultType, F filter, Pageable pageable) {
+    int mask = mask(filter);
+
+    TypedQuery<T> query = entityManager.createQuery(selectClause + where(mask) + orderBy(pageable.getSort()), resultType);
+    bind(query, filter, mask);
+    if (pageable.isUnpaged()) {
+      return new SliceImpl<>(query.getResultList(), pageable, false);
+    }
+    query.setFirstResult((int) pageable.getOffset());
+    query.setMaxResults(pageable.getPageSize() + 1);
+    List<T> rows = query.getResultList();
+
+    boolean hasNext = rows.size() > pageable.getPageSize();
+    return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+  }
+
+  <T> List<T> findFirst(EntityManager entityManager, Class<T> resultType, F filter, Sort sort, int limit) {
+    if (limit < 1) {
+      throw new ApplicationException(HttpStatus.BAD_REQUEST, "Limit wyników musi być większy od zera");
+    }
+    int mask = mask(filter);
+
+    TypedQuery<T> query = entityManager.createQuery(selectClause + where(mask) + orderBy(sort), resultType);
+    bind(query, filter, mask);
+    query.setMaxResults(limit);
+    return query.getResultList();
+  }
+
+  long count(EntityManager entityManager, F filter) {
+    int mask = mask(filter);
+
+    TypedQuery<Long> countQuery = entityManager.createQuery(countClause + where(mask), Long.class);
+    bind(countQuery, filter, mask);
+    return countQuery.getSingleResult();
+  }
+
+  <T> CursorPagedResponse<T> findAfter(EntityManager entityManager, Class<T> resultType,
+                                       Map<String, KeysetKey<T>> keys, F filter, Sort.Order order,
+                                       String after, int size) {
+    KeysetKey<T> sortKey = keys.get(order.getProperty());
+    if (sortKey == null) {
+      throw new ApplicationException(HttpStatus.BAD_REQUEST,
+              "Nieprawidłowe pole sortowania: " + order.getProperty());
+    }
+    if (size < 1) {
+      throw new ApplicationException(HttpStatus.BAD_REQUEST, "Rozmiar strony musi być większy od zera");
+    }
+    int pageSize = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+    KeysetCursor cursor = after == null || after.isEmpty() ? null : KeysetCursor.decode(after);
+    if (cursor != null && !cursor.matches(order)) {
+      throw new ApplicationException(HttpStatus.BAD_REQUEST, "Kursor nie pasuje do wybranego sortowania");
+    }
+    Object afterKey = cursor == null || ID.equals(order.getProperty()) ? null : cursor.key(sortKey);
+
+    int mask = mask(filter);
+    String where = where(mask);
+    if (cursor != null) {
+      String seek = seekPredicate(order);
+      where = where.isEmpty() ? " WHERE " + seek : where + " AND " + seek;
+    }
+
+    TypedQuery<T> query = entityManager.createQuery(selectClause + where + seekOrderBy(order), resultType);
+    bind(query, filter, mask);
+    if (cursor != null) {
+      if (afterKey != null) {
+        query.setParameter("afterKey", afterKey);
+      }
+      query.setParameter("afterId", cursor.id());
+    }
+    query.setMaxResults(pageSize + 1);
+    List<T> rows = query.getResultList();
+
+    boolean hasNext = rows.size() > pageSize;
+    List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor = null;
+    if (hasNext) {
+      T lastRow = content.get(content.size() - 1);
+      Long lastId = (Long) keys.get(ID).extractor().apply(lastRow);
+      nextCursor = new KeysetCursor(order.getProperty(), order.getDirection(), lastId,
+              String.valueOf(sortKey.extractor().apply(lastRow))).encode();
+    }
+    return new CursorPagedResponse<>(content, pageSize, nextCursor, !hasNext);
+  }
+
+  String seekPredicate(Sort.Order order) {
+    String comparison = order.isAscending() ? " > " : " < ";
+    String id = alias + "." + ID;
+    if (ID.equals(order.getProperty())) {
+      return id + comparison + ":afterId";
+    }
+    String key = alias + "." + order.getProperty();
+    String boundary = order.isAscending() ? " >= " : " <= ";
+    return key + boundary + ":afterKey AND (" + key + comparison + ":afterKey OR " + id + comparison + ":afterId)";
+  }
+
+  String seekOrderBy(Sort.Order order) {
+    String direction = order.isAscending() ? " ASC" : " DESC";
+    if (ID.equals(order.getProperty())) {
+      return " ORDER BY " + alias + "." + ID + direction;
+    }
+    return " ORDER BY " + alias + "." + order.getProperty() + direction + ", " + alias + "." + ID + direction;
+  }
+
+  /**
+   * LIKE pattern matching values that start with {@code prefix}; wildcards typed by the user match
+   * literally. Predicates using it must declare {@code ESCAPE '!'}, which unlike a backslash needs no
+   * quoting in MySQL string literals.
+   */
+  static String startsWith(String prefix) {
+    return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+  }
+
+  int mask(F filter) {
+    int mask = 0;
+    for (int i = 0; i < predicates.size(); i++) {
+      if (predicates.get(i).applies().test(filter)) {
+        mask |= 1 << i;
+      }
+    }
+    return mask;
+  }
+
+  String where(int mask) {
+    return whereClauses.computeIfAbsent(mask, this::renderWhere);
+  }
+
+  int cachedShapes() {
+    return whereClauses.size();
+  }
+
+  String orderBy(Sort sort) {
+    return sortRegistry.orderBy(sort);
+  }
+
+  private void bind(Query query, F filter, int mask) {
+    for (int i = 0; i < predicates.size(); i++) {
+      if ((mask & (1 << i)) != 0) {
+        predicates.get(i).binder().accept(filter, query);
+      }
+    }
+  }
+
+  private String renderWhere(int mask) {
+    if (mask == 0) {
+      return "";
+    }
+    StringJoiner where = new StringJoiner(" AND ", " WHERE ", "");
+    for (int i = 0; i < predicates.size(); i++) {
+      if ((mask & (1 << i)) != 0) {
+        where.add(predicates.get(i).jpql());
+      }
+    }
+    return where.toString();
+  }
+
+  private record FilterPredicate<F>(Predicate<F> applies, String jpql, BiConsumer<F, Query> binder) {
+  }
+}
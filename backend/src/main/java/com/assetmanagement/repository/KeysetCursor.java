@@ -0,0 +1,48 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.exception.ApplicationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+record KeysetCursor(String property, Sort.Direction direction, Long id, String key) {
+
+  private static final String SEPARATOR = "\n";
+
+  static KeysetCursor decode(String token) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = decoded.split(SEPARATOR, 4);
+      if (parts.length != 4) {
+        throw new IllegalArgumentException("Unexpected cursor format");
+      }
+      return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), parts[3]);
+    } catch (IllegalArgumentException e) {
+      throw new ApplicationException(HttpStatus.BAD_REQUEST, "Nieprawidłowy kursor");
+    }
+  }
+
+  /**
+   * The sort key read back into its column type. The token comes from the client, so a key that no longer
+   * parses is reported like any other malformed cursor.
+   */
+  Object key(KeysetKey<?> sortKey) {
+    try {
+      return sortKey.parser().apply(key);
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      throw new ApplicationException(HttpStatus.BAD_REQUEST, "Nieprawidłowy kursor");
+    }
+  }
+
+  String encode() {
+    String raw = property + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + key;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  boolean matches(Sort.Order order) {
+    return property.equals(order.getProperty()) && direction == order.getDirection();
+  }
+}
@@ -0,0 +1,6 @@
+package com.assetmanagement.repository;
+
+import java.util.function.Function;
+
+record KeysetKey<T>(Function<T, ?> extractor, Function<String, ?> parser) {
+}
@@ -0,0 +1,65 @@
+package com.assetmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+public class ListingCountCache {
+
+  private static final int MAX_ENTRIES = 1024;
+
+  private final Map<Object, CachedCount> counts = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+  private final long ttlNanos;
+
+  public ListingCountCache(@Value("${listing.count-cache.ttl:30s}") Duration ttl) {
+    this.ttlNanos = ttl.toNanos();
+  }
+
+  public long count(Object filter, LongSupplier counter) {
+    long currentGeneration = generation.get();
+    long now = System.nanoTime();
+    CachedCount cached = counts.get(filter);
+    if (cached != null && cached.generation() == currentGeneration && now - cached.expiresAt() < 0) {
+      return cached.count();
+    }
+
+    long count = counter.getAsLong();
+    if (generation.get() == currentGeneration) {
+      if (counts.size() >= MAX_ENTRIES) {
+        counts.clear();
+      }
+      counts.put(filter, new CachedCount(count, currentGeneration, now + ttlNanos));
+    }
+    return count;
+  }
+
+  public void invalidate() {
+    generation.incrementAndGet();
+    counts.clear();
+  }
+
+  public void invalidateAfterCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidate();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        invalidate();
+      }
+    });
+  }
+
+  private record CachedCount(long count, long generation, long expiresAt) {
+  }
+}
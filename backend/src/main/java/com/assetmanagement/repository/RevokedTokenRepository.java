@@ -0,0 +1,27 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+  @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now")
+  List<String> findActiveJtis(@Param("now") Instant now);
+
+  @Transactional
+  @Modifying
+  @Query(value = "INSERT INTO revoked_tokens (jti, expires_at) VALUES (:jti, :expiresAt)", nativeQuery = true)
+  void insert(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+  int deleteExpired(@Param("now") Instant now);
+}
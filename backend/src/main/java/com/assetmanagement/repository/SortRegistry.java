@@ -0,0 +1,49 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.exception.ApplicationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Whitelist of sort keys accepted by a listing, each mapped to an indexed JPQL path. Every rendered
+ * ORDER BY ends with the id so that pages stay stable when sort values repeat.
+ */
+final class SortRegistry {
+
+  private static final String ID = "id";
+
+  private final Map<String, String> paths = new LinkedHashMap<>();
+
+  SortRegistry(String idPath) {
+    paths.put(ID, idPath);
+  }
+
+  SortRegistry key(String sortKey, String path) {
+    paths.put(sortKey, path);
+    return this;
+  }
+
+  String orderBy(Sort sort) {
+    StringJoiner orders = new StringJoiner(", ", " ORDER BY ", "");
+    Sort.Direction tieBreaker = Sort.Direction.ASC;
+    boolean idOrdered = false;
+    for (Sort.Order order : sort) {
+      String path = paths.get(order.getProperty());
+      if (path == null) {
+        throw new ApplicationException(HttpStatus.BAD_REQUEST,
+                "Nieprawidłowe pole sortowania: " + order.getProperty());
+      }
+      orders.add(path + (order.isAscending() ? " ASC" : " DESC"));
+      tieBreaker = order.getDirection();
+      idOrdered |= ID.equals(order.getProperty());
+    }
+    if (!idOrdered) {
+      orders.add(paths.get(ID) + (tieBreaker.isAscending() ? " ASC" : " DESC"));
+    }
+    return orders.toString();
+  }
+}
@@ -0,0 +1,41 @@
+package com.assetmanagement.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Picks the highest BCrypt cost whose single hash still fits the latency budget on this machine,
+ * never going below the configured floor.
+ */
+@Slf4j
+final class BcryptCostCalibrator {
+
+  static final int MAX_STRENGTH = 16;
+
+  private BcryptCostCalibrator() {
+  }
+
+  static int calibrate(Duration budget, int minStrength) {
+    long budgetNanos = budget.toNanos();
+    hashNanos(minStrength);
+
+    int strength = minStrength;
+    while (strength < MAX_STRENGTH) {
+      long nanos = hashNanos(strength + 1);
+      if (nanos > budgetNanos) {
+        break;
+      }
+      strength++;
+    }
+    log.info("BCrypt cost calibrated to {} for a {} ms budget", strength, budget.toMillis());
+    return strength;
+  }
+
+  private static long hashNanos(int strength) {
+    long start = System.nanoTime();
+    BCrypt.hashpw("calibration", BCrypt.gensalt(strength));
+    return System.nanoTime() - start;
+  }
+}
@@ -0,0 +1,20 @@
+package com.assetmanagement.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Signing keys under {@code jwt}. {@code secret} and {@code kid} form the active key; keys rotated
+ * out stay in {@code previous-keys} so tokens they signed verify until {@code retire-at}.
+ */
+@ConfigurationProperties(prefix = "jwt")
+public record JwtKeyProperties(String secret,
+                               @DefaultValue(SigningKeyRing.DEFAULT_KID) String kid,
+                               @DefaultValue List<PreviousKey> previousKeys) {
+
+  public record PreviousKey(String kid, String secret, Instant retireAt) {
+  }
+}
@@ -1,79 +1,139 @@
 package com.assetmanagement.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MalformedJwtException;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
-  @Value("${jwt.secret}")
-  private String secret;
+  static final String ROLE_CLAIM = "role";
+  static final String TOKEN_VERSION_CLAIM = "ver";
+  static final String TOKEN_TYPE_CLAIM = "typ";
+  static final String REFRESH_TOKEN_TYPE = "refresh";
 
-  @Value("${jwt.expiration}")
-  private Long expiration;
+  private static final int MAX_VERIFIED_TOKENS = 4096;
 
-  private Key getSigningKey() {
-    return Keys.hmacShaKeyFor(secret.getBytes());
-  }
+  private final SigningKeyRing keyRing;
+  private final JwtParser parser;
+  private final long expiration;
+  private final long refreshExpiration;
+  private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
 
-  public String extractUsername(String token) {
-    return extractClaim(token, Claims::getSubject);
+  public JwtUtil(SigningKeyRing keyRing, @Value("${jwt.expiration}") long expiration,
+                 @Value("${jwt.refresh-expiration:1209600000}") long refreshExpiration) {
+    this.keyRing = keyRing;
+    this.parser = Jwts.parser()
+            .keyLocator(new LocatorAdapter<Key>() {
+              @Override
+              protected Key locate(JwsHeader header) {
+                return keyRing.verificationKey(header.getKeyId());
+              }
+            })
+            .build();
+    this.expiration = expiration;
+    this.refreshExpiration = refreshExpiration;
   }
 
-  public Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
-  }
+  /**
+   * Verifies the signature and expiry of a token against the key named by its {@code kid}. Recently
+   * verified tokens are looked up by digest, so a client repeating the same token skips parsing until
+   * the token expires or its key retires.
+   */
+  public VerifiedToken verify(String token) {
+    String digest = digest(token);
+    VerifiedToken cached = verifiedTokens.get(digest);
+    if (cached != null && !cached.isExpired() && keyRing.verificationKey(cached.keyId()) != null) {
+      return cached;
+    }
 
-  public String extractRole(String token) {
-    return extractClaim(token, claims -> claims.get("role", String.class));
+    Jws<Claims> jws = parser.parseSignedClaims(token);
+    VerifiedToken verified = VerifiedToken.of(jws.getHeader().getKeyId(), jws.getPayload());
+    if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+      verifiedTokens.clear();
+    }
+    verifiedTokens.put(digest, verified);
+    return verified;
   }
 
-  public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
+  static int tokenVersion(Claims claims) {
+    Integer version = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+    return version != null ? version : 0;
   }
 
-  private Claims extractAllClaims(String token) {
-    return Jwts.parser()
-            .verifyWith(Keys.hmacShaKeyFor(secret.getBytes()))
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+  Claims extractAllClaims(String token) {
+    return parser.parseSignedClaims(token).getPayload();
   }
 
-  private Boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+  public String generateToken(String subject, String role, int tokenVersion) {
+    Map<String, Object> claims = new HashMap<>();
+    claims.put(ROLE_CLAIM, role);
+    claims.put(TOKEN_VERSION_CLAIM, tokenVersion);
+    return createToken(claims, subject);
   }
 
-  public String generateToken(String subject, String role) {
+  /**
+   * Issues a long-lived token that can only be exchanged at {@code /auth/refresh}. It carries no role,
+   * so the authentication filter never accepts it as an access token.
+   */
+  public String generateRefreshToken(String subject, int tokenVersion) {
     Map<String, Object> claims = new HashMap<>();
-    claims.put("role", role);
-    return createToken(claims, subject);
+    claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+    claims.put(TOKEN_VERSION_CLAIM, tokenVersion);
+    return Jwts.builder()
+            .header().keyId(keyRing.activeKid()).and()
+            .claims(claims)
+            .id(UUID.randomUUID().toString())
+            .subject(subject)
+            .issuedAt(new Date(System.currentTimeMillis()))
+            .expiration(new Date(System.currentTimeMillis() + refreshExpiration))
+            .signWith(keyRing.activeKey())
+            .compact();
+  }
+
+  public RefreshToken verifyRefreshToken(String token) {
+    Claims claims = extractAllClaims(token);
+    if (!REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)) || claims.getId() == null) {
+      throw new MalformedJwtException("Not a refresh token");
+    }
+    return new RefreshToken(claims.getId(), claims.getSubject(), tokenVersion(claims),
+            claims.getExpiration().toInstant());
   }
 
   private String createToken(Map<String, Object> claims, String subject) {
     return Jwts.builder()
+            .header().keyId(keyRing.activeKid()).and()
             .claims(claims)
             .subject(subject)
             .issuedAt(new Date(System.currentTimeMillis()))
             .expiration(new Date(System.currentTimeMillis() + expiration))
-            .signWith(getSigningKey())
+            .signWith(keyRing.activeKey())
             .compact();
   }
 
-  public Boolean validateToken(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername()) && !isTokenExpired(token)); 
-    // && extractRole(token).equals(userDetails.getAuthorities().iterator().next().getAuthority()));
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
   }
 }
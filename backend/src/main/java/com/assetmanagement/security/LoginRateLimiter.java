@@ -0,0 +1,62 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.exception.RetryLaterException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Throttles the unauthenticated auth endpoints per client IP and per account email, so a credential
+ * stuffing run is turned away before it reaches the database or BCrypt. Behind the nginx proxy the client
+ * IP comes from {@code X-Forwarded-For}, which Tomcat accepts only from {@code server.tomcat.remoteip.internal-proxies}.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+  private final StripedTokenBuckets ipBuckets;
+  private final StripedTokenBuckets emailBuckets;
+
+  public LoginRateLimiter(@Value("${auth.rate-limit.stripes:64}") int stripes,
+                          @Value("${auth.rate-limit.ip.capacity:30}") int ipCapacity,
+                          @Value("${auth.rate-limit.ip.refill-interval:2s}") Duration ipRefillInterval,
+                          @Value("${auth.rate-limit.email.capacity:5}") int emailCapacity,
+                          @Value("${auth.rate-limit.email.refill-interval:12s}") Duration emailRefillInterval) {
+    this.ipBuckets = new StripedTokenBuckets(stripes, ipCapacity, ipRefillInterval);
+    this.emailBuckets = new StripedTokenBuckets(stripes, emailCapacity, emailRefillInterval);
+  }
+
+  public void acquire(String clientIp, String email) {
+    long now = System.nanoTime();
+    reject(ipBuckets.tryAcquire(clientIp, now));
+    if (email != null) {
+      long waitNanos = emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT), now);
+      if (waitNanos > 0) {
+        // A request turned away for its account must not also drain the budget of everyone behind the IP.
+        ipBuckets.release(clientIp);
+        reject(waitNanos);
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${auth.rate-limit.cleanup-interval:PT1M}")
+  public void evictIdle() {
+    long now = System.nanoTime();
+    int evicted = ipBuckets.evictIdle(now) + emailBuckets.evictIdle(now);
+    if (evicted > 0) {
+      log.debug("Evicted {} idle rate limit buckets", evicted);
+    }
+  }
+
+  private static void reject(long waitNanos) {
+    if (waitNanos > 0) {
+      throw new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS,
+              "Zbyt wiele prób, spróbuj ponownie później", Duration.ofNanos(waitNanos));
+    }
+  }
+}
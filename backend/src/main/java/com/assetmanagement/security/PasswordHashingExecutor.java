@@ -0,0 +1,93 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.exception.RetryLaterException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work on a pool sized to the CPU count instead of on request threads. A full queue
+ * rejects the request straight away with 503 and Retry-After rather than letting logins pile up.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+  private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+  private final Duration retryAfter;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejections;
+
+  public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                 @Value("${auth.hashing.threads:0}") int threads,
+                                 @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+                                 @Value("${auth.hashing.retry-after:1s}") Duration retryAfter) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("password-hashing-");
+    executor.initialize();
+    this.retryAfter = retryAfter;
+
+    Gauge.builder("auth.hashing.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+            .description("Password hashing tasks waiting for a thread")
+            .register(meterRegistry);
+    Gauge.builder("auth.hashing.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("Password hashing tasks running")
+            .register(meterRegistry);
+    this.encodeTimer = Timer.builder("auth.hashing.latency").tag("operation", "encode").register(meterRegistry);
+    this.matchesTimer = Timer.builder("auth.hashing.latency").tag("operation", "matches").register(meterRegistry);
+    this.rejections = Counter.builder("auth.hashing.rejected").register(meterRegistry);
+  }
+
+  public String encode(Supplier<String> encoding) {
+    return execute(encodeTimer, encoding);
+  }
+
+  public boolean matches(Supplier<Boolean> matching) {
+    return execute(matchesTimer, matching);
+  }
+
+  private <T> T execute(Timer timer, Supplier<T> task) {
+    Future<T> result;
+    try {
+      result = executor.submit(() -> timer.record(task));
+    } catch (TaskRejectedException e) {
+      rejections.increment();
+      throw new RetryLaterException(HttpStatus.SERVICE_UNAVAILABLE,
+              "Serwer jest przeciążony, spróbuj ponownie później", retryAfter);
+    }
+
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RetryLaterException(HttpStatus.SERVICE_UNAVAILABLE,
+              "Serwer jest przeciążony, spróbuj ponownie później", retryAfter);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+}
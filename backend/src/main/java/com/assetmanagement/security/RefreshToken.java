@@ -0,0 +1,6 @@
+package com.assetmanagement.security;
+
+import java.time.Instant;
+
+public record RefreshToken(String jti, String subject, int tokenVersion, Instant expiresAt) {
+}
@@ -0,0 +1,85 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Revoked refresh token ids. A Bloom filter rebuilt from the {@code revoked_tokens} table answers most
+ * lookups without I/O; only a possible hit is confirmed against the table. Revocation itself is an
+ * insert keyed by the token id, so a refresh token can be redeemed once even across instances.
+ */
+@Slf4j
+@Component
+public class RevokedTokenRegistry {
+
+  private static final int MIN_EXPECTED_VALUES = 1024;
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final double falsePositiveRate;
+  private volatile BloomFilter filter;
+  private List<String> revokedDuringRebuild;
+
+  public RevokedTokenRegistry(RevokedTokenRepository revokedTokenRepository,
+                              @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.falsePositiveRate = falsePositiveRate;
+    this.filter = new BloomFilter(MIN_EXPECTED_VALUES, falsePositiveRate);
+  }
+
+  public boolean isRevoked(String jti) {
+    return filter.mightContain(jti) && revokedTokenRepository.existsById(jti);
+  }
+
+  /**
+   * Records the token id as revoked. Returns false when it already was, i.e. the token is being reused.
+   */
+  public boolean revoke(String jti, Instant expiresAt) {
+    try {
+      revokedTokenRepository.insert(jti, expiresAt);
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+    synchronized (this) {
+      filter.add(jti);
+      if (revokedDuringRebuild != null) {
+        revokedDuringRebuild.add(jti);
+      }
+    }
+    return true;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:PT5M}")
+  public void rebuild() {
+    synchronized (this) {
+      revokedDuringRebuild = new ArrayList<>();
+    }
+    try {
+      Instant now = Instant.now();
+      int purged = revokedTokenRepository.deleteExpired(now);
+      List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+
+      BloomFilter rebuilt = new BloomFilter(Math.max(MIN_EXPECTED_VALUES, jtis.size() * 2), falsePositiveRate);
+      jtis.forEach(rebuilt::add);
+      synchronized (this) {
+        revokedDuringRebuild.forEach(rebuilt::add);
+        filter = rebuilt;
+      }
+      log.debug("Rebuilt revoked token filter with {} ids, purged {} expired", jtis.size(), purged);
+    } finally {
+      synchronized (this) {
+        revokedDuringRebuild = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.assetmanagement.security;
+
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Active signing key plus previous keys still accepted for verification, looked up by the {@code kid}
+ * header. Keys are derived once; the lookup map is immutable and swapped whole when a key retires.
+ */
+@Component
+public class SigningKeyRing {
+
+  static final String DEFAULT_KID = "primary";
+
+  private final String activeKid;
+  private final SecretKey activeKey;
+  private final List<RetiringKey> previousKeys;
+  private final Clock clock;
+  private volatile Map<String, SecretKey> verificationKeys;
+
+  @Autowired
+  public SigningKeyRing(JwtKeyProperties properties) {
+    this(properties, Clock.systemUTC());
+  }
+
+  SigningKeyRing(JwtKeyProperties properties, Clock clock) {
+    this.activeKid = properties.kid();
+    this.activeKey = key(properties.secret());
+    this.previousKeys = properties.previousKeys().stream()
+            .map(previous -> new RetiringKey(previous.kid(), key(previous.secret()), previous.retireAt()))
+            .toList();
+    this.clock = clock;
+    retireExpiredKeys();
+  }
+
+  public String activeKid() {
+    return activeKid;
+  }
+
+  public SecretKey activeKey() {
+    return activeKey;
+  }
+
+  /**
+   * Returns the key for a {@code kid}, or null when it is unknown or retired. Tokens issued before key
+   * ids were introduced carry no {@code kid} and resolve to {@value #DEFAULT_KID}.
+   */
+  public SecretKey verificationKey(String kid) {
+    return verificationKeys.get(kid != null ? kid : DEFAULT_KID);
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.key-retirement-interval:PT1M}")
+  public void retireExpiredKeys() {
+    Instant now = clock.instant();
+    Map<String, SecretKey> keys = new HashMap<>();
+    for (RetiringKey previous : previousKeys) {
+      if (previous.retireAt() == null || now.isBefore(previous.retireAt())) {
+        keys.put(previous.kid(), previous.key());
+      }
+    }
+    keys.put(activeKid, activeKey);
+    verificationKeys = Map.copyOf(keys);
+  }
+
+  private static SecretKey key(String secret) {
+    return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private record RetiringKey(String kid, SecretKey key, Instant retireAt) {
+  }
+}
@@ -0,0 +1,126 @@
+package com.assetmanagement.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Token buckets keyed by string, refilled lazily on access. Keys are spread over a fixed number of
+ * stripes, each a plain map guarded by its own lock, so callers with different keys rarely contend and
+ * a request for a known key allocates nothing.
+ */
+final class StripedTokenBuckets {
+
+  private final Stripe[] stripes;
+  private final int capacity;
+  private final long refillIntervalNanos;
+
+  StripedTokenBuckets(int stripes, int capacity, Duration refillInterval) {
+    this.stripes = new Stripe[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+    for (int i = 0; i < this.stripes.length; i++) {
+      this.stripes[i] = new Stripe();
+    }
+    this.capacity = capacity;
+    this.refillIntervalNanos = refillInterval.toNanos();
+  }
+
+  /**
+   * Takes one token for the key. Returns zero on success, otherwise the nanoseconds until the next
+   * token becomes available.
+   */
+  long tryAcquire(String key, long nowNanos) {
+    Stripe stripe = stripe(key);
+    synchronized (stripe) {
+      Bucket bucket = stripe.buckets.get(key);
+      if (bucket == null) {
+        bucket = new Bucket(capacity, nowNanos);
+        stripe.buckets.put(key, bucket);
+      } else {
+        refill(bucket, nowNanos);
+      }
+      if (bucket.tokens > 0) {
+        bucket.tokens--;
+        return 0;
+      }
+      return refillIntervalNanos - (nowNanos - bucket.refilledAt);
+    }
+  }
+
+  /**
+   * Puts back a token taken by {@link #tryAcquire} for a request that was turned away for another reason.
+   */
+  void release(String key) {
+    Stripe stripe = stripe(key);
+    synchronized (stripe) {
+      Bucket bucket = stripe.buckets.get(key);
+      if (bucket != null && bucket.tokens < capacity) {
+        bucket.tokens++;
+      }
+    }
+  }
+
+  /**
+   * Drops buckets that have refilled completely; they behave exactly like a key never seen before.
+   */
+  int evictIdle(long nowNanos) {
+    int evicted = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        Iterator<Bucket> buckets = stripe.buckets.values().iterator();
+        while (buckets.hasNext()) {
+          Bucket bucket = buckets.next();
+          refill(bucket, nowNanos);
+          if (bucket.tokens == capacity) {
+            buckets.remove();
+            evicted++;
+          }
+        }
+      }
+    }
+    return evicted;
+  }
+
+  int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.buckets.size();
+      }
+    }
+    return size;
+  }
+
+  private void refill(Bucket bucket, long nowNanos) {
+    long intervals = (nowNanos - bucket.refilledAt) / refillIntervalNanos;
+    if (intervals <= 0) {
+      return;
+    }
+    if (intervals >= capacity - bucket.tokens) {
+      bucket.tokens = capacity;
+      bucket.refilledAt = nowNanos;
+    } else {
+      bucket.tokens += (int) intervals;
+      bucket.refilledAt += intervals * refillIntervalNanos;
+    }
+  }
+
+  private Stripe stripe(String key) {
+    int hash = key.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+  }
+
+  private static final class Stripe {
+    private final Map<String, Bucket> buckets = new HashMap<>();
+  }
+
+  private static final class Bucket {
+    private int tokens;
+    private long refilledAt;
+
+    private Bucket(int tokens, long refilledAt) {
+      this.tokens = tokens;
+      this.refilledAt = refilledAt;
+    }
+  }
+}
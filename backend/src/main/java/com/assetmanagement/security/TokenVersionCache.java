@@ -0,0 +1,78 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Current token version per employee email. Bumping the version in the database revokes every token
+ * issued before; other instances notice the bump once their entry expires.
+ */
+@Component
+public class TokenVersionCache {
+
+  private static final int MAX_ENTRIES = 4096;
+
+  private final EmployeeRepository employeeRepository;
+  private final Map<String, CachedVersion> versions = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+  private final long ttlNanos;
+
+  public TokenVersionCache(EmployeeRepository employeeRepository,
+                           @Value("${jwt.token-version-cache.ttl:60s}") Duration ttl) {
+    this.employeeRepository = employeeRepository;
+    this.ttlNanos = ttl.toNanos();
+  }
+
+  public boolean isCurrent(String email, int tokenVersion) {
+    Optional<Integer> current = currentVersion(email);
+    return current.isPresent() && current.get() == tokenVersion;
+  }
+
+  private Optional<Integer> currentVersion(String email) {
+    long currentGeneration = generation.get();
+    long now = System.nanoTime();
+    CachedVersion cached = versions.get(email);
+    if (cached != null && cached.generation() == currentGeneration && now - cached.expiresAt() < 0) {
+      return Optional.of(cached.version());
+    }
+
+    Optional<Integer> version = employeeRepository.findTokenVersionByEmail(email);
+    if (version.isPresent() && generation.get() == currentGeneration) {
+      if (versions.size() >= MAX_ENTRIES) {
+        versions.clear();
+      }
+      versions.put(email, new CachedVersion(version.get(), currentGeneration, now + ttlNanos));
+    }
+    return version;
+  }
+
+  public void invalidate(String email) {
+    generation.incrementAndGet();
+    versions.remove(email);
+  }
+
+  public void invalidateAfterCommit(String email) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidate(email);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        invalidate(email);
+      }
+    });
+  }
+
+  private record CachedVersion(int version, long generation, long expiresAt) {
+  }
+}
@@ -0,0 +1,17 @@
+package com.assetmanagement.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+public record VerifiedToken(String subject, String role, int tokenVersion, Date expiration, String keyId) {
+
+  static VerifiedToken of(String keyId, Claims claims) {
+    return new VerifiedToken(claims.getSubject(), claims.get(JwtUtil.ROLE_CLAIM, String.class),
+            JwtUtil.tokenVersion(claims), claims.getExpiration(), keyId);
+  }
+
+  boolean isExpired() {
+    return expiration != null && !expiration.after(new Date());
+  }
+}
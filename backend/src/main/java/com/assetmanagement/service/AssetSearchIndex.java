@@ -0,0 +1,146 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.response.AssetSearchResponse;
+import com.assetmanagement.model.Asset;
+import com.assetmanagement.model.AssetType;
+import com.assetmanagement.repository.AssetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Prefix search over asset series numbers and the words of vendor and model. Writes on other instances
+ * show up after the periodic rebuild.
+ */
+@Slf4j
+@Component
+public class AssetSearchIndex {
+
+  private final AssetRepository assetRepository;
+  private final Object rebuildLock = new Object();
+  private volatile Snapshot snapshot = Snapshot.of(Stream.empty());
+  private Map<Long, Entry> changedDuringRebuild;
+
+  public AssetSearchIndex(AssetRepository assetRepository) {
+    this.assetRepository = assetRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${asset.search-index.rebuild-cron:0 0 * * * *}")
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    synchronized (rebuildLock) {
+      synchronized (this) {
+        changedDuringRebuild = new LinkedHashMap<>();
+      }
+      long start = System.nanoTime();
+      Snapshot rebuilt;
+      try (Stream<AssetSearchResponse> assets = assetRepository.streamSearchEntries()) {
+        rebuilt = Snapshot.of(assets.map(Entry::of));
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          changedDuringRebuild = null;
+        }
+        throw e;
+      }
+      // Writes committed while the scan ran may be missing from it; replay them over the new snapshot.
+      synchronized (this) {
+        changedDuringRebuild.values().forEach(rebuilt::put);
+        changedDuringRebuild = null;
+        snapshot = rebuilt;
+      }
+      log.info("Built asset search index: {} assets, {} terms in {} ms",
+              rebuilt.index.size(), rebuilt.index.termCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+  }
+
+  /**
+   * Assets matching every word of the query, at most {@code limit}. A word matches when it is a prefix
+   * of the series number or of a vendor or model word; case, accents and separators are ignored.
+   */
+  public List<AssetSearchResponse> search(String query, int limit) {
+    Snapshot current = snapshot;
+    List<AssetSearchResponse> matches = new ArrayList<>();
+    PrimitiveIterator.OfLong ids = current.index.search(PrefixIndex.queryWords(query));
+    while (ids.hasNext() && matches.size() < limit) {
+      matches.add(current.entries.get(ids.nextLong()).toResponse());
+    }
+    return matches;
+  }
+
+  public void putAfterCommit(Asset asset) {
+    Entry entry = Entry.of(asset);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      put(entry);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        put(entry);
+      }
+    });
+  }
+
+  synchronized void put(Entry entry) {
+    snapshot.put(entry);
+    if (changedDuringRebuild != null) {
+      changedDuringRebuild.put(entry.id(), entry);
+    }
+  }
+
+  void load(Stream<Entry> entries) {
+    snapshot = Snapshot.of(entries);
+  }
+
+  record Entry(long id, AssetType assetType, String vendor, String model, String seriesNumber, boolean active) {
+
+    static Entry of(AssetSearchResponse asset) {
+      return new Entry(asset.getId(), asset.getAssetType(), asset.getVendor(), asset.getModel(),
+              asset.getSeriesNumber(), asset.isActive());
+    }
+
+    static Entry of(Asset asset) {
+      return new Entry(asset.getId(), asset.getAssetType(), asset.getVendor(), asset.getModel(),
+              asset.getSeriesNumber(), asset.isActive());
+    }
+
+    PrefixIndex.Document document() {
+      return new PrefixIndex.Document(id, PrefixIndex.terms(seriesNumber, vendor, model));
+    }
+
+    AssetSearchResponse toResponse() {
+      return new AssetSearchResponse(id, assetType, vendor, model, seriesNumber, active);
+    }
+  }
+
+  /** Terms of an asset never change; an update only replaces the entry shown in results. */
+  private record Snapshot(PrefixIndex index, Map<Long, Entry> entries) {
+
+    static Snapshot of(Stream<Entry> source) {
+      Map<Long, Entry> entries = new ConcurrentHashMap<>();
+      PrefixIndex index = PrefixIndex.build(source
+              .peek(entry -> entries.put(entry.id(), entry))
+              .map(Entry::document));
+      return new Snapshot(index, entries);
+    }
+
+    void put(Entry entry) {
+      entries.put(entry.id(), entry);
+      index.add(entry.document());
+    }
+  }
+}
@@ -2,19 +2,26 @@ package com.assetmanagement.service;
 
 import com.assetmanagement.dto.request.CreateAssetRequest;
 import com.assetmanagement.dto.response.AssetResponse;
+import com.assetmanagement.dto.response.AssetSearchResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.EmployeeAssetResponse;
+import com.assetmanagement.dto.response.OptionResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.Asset;
 import com.assetmanagement.model.AssetType;
-import com.assetmanagement.model.Assignment;
 import com.assetmanagement.model.Employee;
+import com.assetmanagement.repository.AssetFilter;
+import com.assetmanagement.repository.AssetOptionFilter;
 import com.assetmanagement.repository.AssetRepository;
 import com.assetmanagement.repository.AssignmentRepository;
 import com.assetmanagement.repository.EmployeeRepository;
+import com.assetmanagement.repository.ListingCountCache;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,14 +29,23 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 
 @Service
 @RequiredArgsConstructor
 public class AssetService {
 
+  static final int MAX_OPTIONS = 200;
+  static final int MAX_SEARCH_RESULTS = 50;
+
   private final AssetRepository assetRepository;
   private final AssignmentRepository assignmentRepository;
   private final EmployeeRepository employeeRepository;
+  private final ListingCountCache listingCountCache;
+  private final SelfServiceCache selfServiceCache;
+  private final ChangeCounters changeCounters;
+  private final ReadCoalescer readCoalescer;
+  private final AssetSearchIndex assetSearchIndex;
 
   @Transactional
   public AssetResponse createAsset(CreateAssetRequest request) {
@@ -45,85 +61,79 @@ public class AssetService {
     asset.setActive(true);
 
     Asset saved = assetRepository.save(asset);
+    listingCountCache.invalidateAfterCommit();
+    readCoalescer.invalidateAfterCommit();
+    assetSearchIndex.putAfterCommit(saved);
+    changeCounters.bump(ChangeCounters.Listing.ASSETS);
     return mapToAssetResponse(saved, null);
   }
 
+  @Transactional(readOnly = true)
+  public List<OptionResponse> getAssetOptions(String prefix, boolean availableOnly, int limit) {
+    AssetOptionFilter filter = new AssetOptionFilter(prefix == null || prefix.isBlank() ? null : prefix.trim(), availableOnly);
+    return assetRepository.findAssetOptions(filter, Math.min(limit, MAX_OPTIONS));
+  }
+
+  public List<AssetSearchResponse> searchAssets(String query, int limit) {
+    if (limit < 1) {
+      throw new ApplicationException(HttpStatus.BAD_REQUEST, "Limit wyników musi być większy od zera");
+    }
+    return assetSearchIndex.search(query, Math.min(limit, MAX_SEARCH_RESULTS));
+  }
+
   @Transactional(readOnly = true)
   public List<AssetResponse> getAllAssets() {
     return assetRepository.findAll().stream()
-            .map(asset -> {
-              Employee employee = assignmentRepository.findActiveByAssetId(asset.getId())
-                      .map(Assignment::getEmployee)
-                      .orElse(null);
-              return mapToAssetResponse(asset, employee);
-            })
+            .map(asset -> mapToAssetResponse(asset, asset.getCurrentEmployee()))
             .collect(Collectors.toList());
   }
 
-  @Transactional(readOnly = true)
   public PagedResponse<AssetResponse> getAllAssets(Pageable pageable, Boolean isActive, AssetType assetType, Boolean isAssigned) {
-    Page<Asset> assetPage = findAssets(pageable, isActive, assetType, isAssigned);
-
-    List<AssetResponse> content = assetPage.getContent().stream()
-            .map(asset -> {
-              Employee employee = assignmentRepository.findActiveByAssetId(asset.getId())
-                      .map(Assignment::getEmployee)
-                      .orElse(null);
-              return mapToAssetResponse(asset, employee);
-            })
-            .collect(Collectors.toList());
+    AssetFilter filter = new AssetFilter(isActive, assetType, isAssigned);
+    return readCoalescer.execute("assets", filter, pageable, () -> {
+      Page<AssetResponse> assetPage = assetRepository.findAssets(filter, pageable);
+
+      return new PagedResponse<>(
+              assetPage.getContent(),
+              assetPage.getNumber(),
+              assetPage.getSize(),
+              assetPage.getTotalElements(),
+              assetPage.getTotalPages(),
+              assetPage.isLast()
+      );
+    });
+  }
 
-    return new PagedResponse<>(
-            content,
-            assetPage.getNumber(),
-            assetPage.getSize(),
-            assetPage.getTotalElements(),
-            assetPage.getTotalPages(),
-            assetPage.isLast()
+  @Transactional(readOnly = true)
+  public SlicedResponse<AssetResponse> getAssetSlice(Pageable pageable, Boolean isActive, AssetType assetType, Boolean isAssigned) {
+    Slice<AssetResponse> assetSlice = assetRepository.findAssetSlice(new AssetFilter(isActive, assetType, isAssigned), pageable);
+
+    return new SlicedResponse<>(
+            assetSlice.getContent(),
+            assetSlice.getNumber(),
+            assetSlice.getSize(),
+            assetSlice.hasNext()
     );
   }
 
-  private Page<Asset> findAssets(Pageable pageable, Boolean isActive, AssetType assetType, Boolean isAssigned) {
-    if (isActive != null && assetType != null && isAssigned != null) {
-      return isAssigned
-              ? assetRepository.findByIsActiveAndAssetTypeAndAssigned(isActive, assetType, pageable)
-              : assetRepository.findByIsActiveAndAssetTypeAndUnassigned(isActive, assetType, pageable);
-    }
-    if (isActive != null && assetType != null) {
-      return assetRepository.findByIsActiveAndAssetType(isActive, assetType, pageable);
-    }
-    if (isActive != null && isAssigned != null) {
-      return isAssigned
-              ? assetRepository.findByIsActiveAndAssigned(isActive, pageable)
-              : assetRepository.findByIsActiveAndUnassigned(isActive, pageable);
-    }
-    if (assetType != null && isAssigned != null) {
-      return isAssigned
-              ? assetRepository.findByAssetTypeAndAssigned(assetType, pageable)
-              : assetRepository.findByAssetTypeAndUnassigned(assetType, pageable);
-    }
-    if (isActive != null) {
-      return assetRepository.findByIsActive(isActive, pageable);
-    }
-    if (assetType != null) {
-      return assetRepository.findByAssetType(assetType, pageable);
-    }
-    if (isAssigned != null) {
-      return isAssigned
-              ? assetRepository.findAssigned(pageable)
-              : assetRepository.findUnassigned(pageable);
-    }
-    return assetRepository.findAll(pageable);
+  @Transactional(readOnly = true)
+  public CursorPagedResponse<AssetResponse> getAssetsAfter(String after, int size, Sort.Order order,
+                                                           Boolean isActive, AssetType assetType, Boolean isAssigned) {
+    return assetRepository.findAssetsAfter(new AssetFilter(isActive, assetType, isAssigned), order, after, size);
   }
 
   @Transactional(readOnly = true)
   public AssetResponse getAssetById(Long id) {
     Asset asset = assetRepository.findById(id)
             .orElseThrow(() -> new ApplicationException(HttpStatus.NOT_FOUND, "Zasób nie został znaleziony"));
-    Employee employee = assignmentRepository.findActiveByAssetId(id)
-            .map(Assignment::getEmployee)
-            .orElse(null);
-    return mapToAssetResponse(asset, employee);
+    return mapToAssetResponse(asset, asset.getCurrentEmployee());
+  }
+
+  @Transactional(readOnly = true)
+  public long getAssetVersion(Long id) {
+    return assetRepository.findById(id)
+            .map(Asset::getVersion)
+            .orElseThrow(() -> new ApplicationException(HttpStatus.NOT_FOUND, "Zasób nie został znaleziony"));
   }
 
   @Transactional
@@ -131,23 +141,27 @@ public class AssetService {
     Asset asset = assetRepository.findById(id)
             .orElseThrow(() -> new ApplicationException(HttpStatus.NOT_FOUND, "Zasób nie został znaleziony"));
 
-    if (assignmentRepository.findActiveByAssetId(id).isPresent()) {
+    if (asset.isAssigned()) {
       throw new ApplicationException(HttpStatus.BAD_REQUEST,
               "Nie można dezaktywować zasobu, który jest przypisany do pracownika");
     }
 
     asset.setActive(false);
     assetRepository.save(asset);
+    listingCountCache.invalidateAfterCommit();
+    readCoalescer.invalidateAfterCommit();
+    assetSearchIndex.putAfterCommit(asset);
+    changeCounters.bump(ChangeCounters.Listing.ASSETS);
   }
 
-  @Transactional(readOnly = true)
+  // Not transactional: the cache must load in a transaction of its own, see SelfServiceCache.
   public List<EmployeeAssetResponse> getActiveAssetsByEmployeeEmail(String email) {
-    Employee employee = employeeRepository.findByEmail(email)
+    Long employeeId = employeeRepository.findByEmail(email)
+            .map(Employee::getId)
             .orElseThrow(() -> new ApplicationException(HttpStatus.NOT_FOUND, "Pracownik nie został znaleziony"));
 
-    return assignmentRepository.findActiveByEmployeeId(employee.getId()).stream()
-            .map(this::mapToEmployeeAssetResponse)
-            .collect(Collectors.toList());
+    return selfServiceCache.activeAssets(employeeId,
+            () -> assignmentRepository.findActiveAssetResponsesByEmployeeId(employeeId));
   }
 
   private AssetResponse mapToAssetResponse(Asset asset, Employee employee) {
@@ -167,17 +181,4 @@ public class AssetService {
 
     return response;
   }
-
-  private EmployeeAssetResponse mapToEmployeeAssetResponse(Assignment assignment) {
-    Asset asset = assignment.getAsset();
-    EmployeeAssetResponse response = new EmployeeAssetResponse();
-    response.setAssetType(asset.getAssetType());
-    response.setVendor(asset.getVendor());
-    response.setModel(asset.getModel());
-    response.setSeriesNumber(asset.getSeriesNumber());
-    response.setAssignedFrom(assignment.getAssignedFrom());
-
-    return response;
-  }
-
 }
@@ -3,31 +3,47 @@ package com.assetmanagement.service;
 import com.assetmanagement.dto.request.CreateAssignmentRequest;
 import com.assetmanagement.dto.request.EndAssignmentRequest;
 import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.Asset;
 import com.assetmanagement.model.Assignment;
 import com.assetmanagement.model.Employee;
 import com.assetmanagement.repository.AssetRepository;
+import com.assetmanagement.repository.AssignmentFilter;
 import com.assetmanagement.repository.AssignmentRepository;
 import com.assetmanagement.repository.EmployeeRepository;
+import com.assetmanagement.repository.ListingCountCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AssignmentService {
 
+  /** First page of the self-service history as MyHistoryPage requests it; only this shape is cached. */
+  public static final int HISTORY_PAGE_SIZE = 50;
+  private static final Sort.Order HISTORY_ORDER = Sort.Order.asc("id");
+
   private final AssignmentRepository assignmentRepository;
   private final EmployeeRepository employeeRepository;
   private final AssetRepository assetRepository;
+  private final ListingCountCache listingCountCache;
+  private final SelfServiceCache selfServiceCache;
+  private final ChangeCounters changeCounters;
+  private final ReadCoalescer readCoalescer;
 
   @Transactional
   public AssignmentResponse createAssignment(CreateAssignmentRequest request) {
@@ -41,7 +57,7 @@ public class AssignmentService {
       throw new ApplicationException(HttpStatus.BAD_REQUEST, "Nie można przypisać nieaktywnego zasobu");
     }
 
-    if (assignmentRepository.findActiveByAssetId(asset.getId()).isPresent()) {
+    if (asset.isAssigned()) {
       throw new ApplicationException(HttpStatus.BAD_REQUEST,
               "Zasób jest już przypisany do innego pracownika");
     }
@@ -52,6 +68,11 @@ public class AssignmentService {
     assignment.setAssignedFrom(request.getAssignedFrom());
 
     Assignment saved = assignmentRepository.save(assignment);
+    asset.assign(saved);
+    listingCountCache.invalidateAfterCommit();
+    readCoalescer.invalidateAfterCommit();
+    selfServiceCache.evictAfterCommit(employee.getId());
+    changeCounters.bump(ChangeCounters.Listing.ASSETS, ChangeCounters.Listing.ASSIGNMENTS);
     return mapToResponse(saved);
   }
 
@@ -69,7 +90,15 @@ public class AssignmentService {
     }
 
     assignment.setAssignedUntil(request.getAssignedUntil());
+    Asset asset = assignment.getAsset();
+    if (asset.isAssigned() && assignmentId.equals(asset.getCurrentAssignment().getId())) {
+      asset.release();
+    }
     Assignment saved = assignmentRepository.save(assignment);
+    listingCountCache.invalidateAfterCommit();
+    readCoalescer.invalidateAfterCommit();
+    selfServiceCache.evictAfterCommit(assignment.getEmployee().getId());
+    changeCounters.bump(ChangeCounters.Listing.ASSETS, ChangeCounters.Listing.ASSIGNMENTS);
     return mapToResponse(saved);
   }
 
@@ -80,64 +109,39 @@ public class AssignmentService {
             .collect(Collectors.toList());
   }
 
-  @Transactional(readOnly = true)
   public PagedResponse<AssignmentResponse> getAllAssignments(Pageable pageable, Boolean isActive, Long employeeId, Long assetId) {
-    Page<Assignment> assignmentPage = findAssignments(pageable, isActive, employeeId, assetId);
-
-    List<AssignmentResponse> content = assignmentPage.getContent().stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+    AssignmentFilter filter = new AssignmentFilter(isActive, employeeId, assetId);
+    return readCoalescer.execute("assignments", filter, pageable, () -> {
+      Page<AssignmentResponse> assignmentPage = assignmentRepository.findAssignments(filter, pageable);
+
+      return new PagedResponse<>(
+              assignmentPage.getContent(),
+              assignmentPage.getNumber(),
+              assignmentPage.getSize(),
+              assignmentPage.getTotalElements(),
+              assignmentPage.getTotalPages(),
+              assignmentPage.isLast()
+      );
+    });
+  }
 
-    return new PagedResponse<>(
-            content,
-            assignmentPage.getNumber(),
-            assignmentPage.getSize(),
-            assignmentPage.getTotalElements(),
-            assignmentPage.getTotalPages(),
-            assignmentPage.isLast()
+  @Transactional(readOnly = true)
+  public SlicedResponse<AssignmentResponse> getAssignmentSlice(Pageable pageable, Boolean isActive, Long employeeId, Long assetId) {
+    Slice<AssignmentResponse> assignmentSlice = assignmentRepository.findAssignmentSlice(
+            new AssignmentFilter(isActive, employeeId, assetId), pageable);
+
+    return new SlicedResponse<>(
+            assignmentSlice.getContent(),
+            assignmentSlice.getNumber(),
+            assignmentSlice.getSize(),
+            assignmentSlice.hasNext()
     );
   }
 
-  private Page<Assignment> findAssignments(Pageable pageable, Boolean isActive, Long employeeId, Long assetId) {
-    // Oba filtry: pracownik i zasób
-    if (employeeId != null && assetId != null) {
-      if (isActive != null) {
-        return isActive
-                ? assignmentRepository.findActiveByEmployeeIdAndAssetId(employeeId, assetId, pageable)
-                : assignmentRepository.findEndedByEmployeeIdAndAssetId(employeeId, assetId, pageable);
-      }
-      return assignmentRepository.findByEmployeeIdAndAssetId(employeeId, assetId, pageable);
-    }
-
-    // Tylko pracownik
-    if (employeeId != null) {
-      if (isActive != null) {
-        return isActive
-                ? assignmentRepository.findActiveByEmployeeIdPaged(employeeId, pageable)
-                : assignmentRepository.findEndedByEmployeeId(employeeId, pageable);
-      }
-      return assignmentRepository.findByEmployeeId(employeeId, pageable);
-    }
-
-    // Tylko zasób
-    if (assetId != null) {
-      if (isActive != null) {
-        return isActive
-                ? assignmentRepository.findActiveByAssetIdPaged(assetId, pageable)
-                : assignmentRepository.findEndedByAssetId(assetId, pageable);
-      }
-      return assignmentRepository.findByAssetId(assetId, pageable);
-    }
-
-    // Tylko status
-    if (isActive != null) {
-      return isActive
-              ? assignmentRepository.findActive(pageable)
-              : assignmentRepository.findEnded(pageable);
-    }
-
-    // Brak filtrów
-    return assignmentRepository.findAll(pageable);
+  @Transactional(readOnly = true)
+  public CursorPagedResponse<AssignmentResponse> getAssignmentsAfter(String after, int size, Sort.Order order,
+                                                                     Boolean isActive, Long employeeId, Long assetId) {
+    return assignmentRepository.findAssignmentsAfter(new AssignmentFilter(isActive, employeeId, assetId), order, after, size);
   }
 
   @Transactional(readOnly = true)
@@ -160,14 +164,42 @@ public class AssignmentService {
             .collect(Collectors.toList());
   }
 
-  @Transactional(readOnly = true)
+  // Not transactional: the cache must load in a transaction of its own, see SelfServiceCache.
   public List<AssignmentResponse> getAssignmentHistoryByEmployeeEmail(String email) {
-    Employee employee = employeeRepository.findByEmail(email)
-            .orElseThrow(() -> new ApplicationException(HttpStatus.NOT_FOUND, "Pracownik nie został znaleziony"));
+    Long employeeId = getEmployeeIdByEmail(email);
 
-    return assignmentRepository.findByEmployee(employee).stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+    return selfServiceCache.assignmentHistory(employeeId,
+            () -> assignmentRepository.findResponsesByEmployeeId(employeeId));
+  }
+
+  // Not transactional: the cache must load in a transaction of its own, see SelfServiceCache.
+  public CursorPagedResponse<AssignmentResponse> getAssignmentHistoryAfter(String email, String after, int size,
+                                                                           Sort.Order order) {
+    Long employeeId = getEmployeeIdByEmail(email);
+    AssignmentFilter filter = new AssignmentFilter(null, employeeId, null);
+    if ((after == null || after.isEmpty()) && size == HISTORY_PAGE_SIZE && HISTORY_ORDER.equals(order)) {
+      return selfServiceCache.firstHistoryPage(employeeId,
+              () -> assignmentRepository.findAssignmentsAfter(filter, order, after, size));
+    }
+    return assignmentRepository.findAssignmentsAfter(filter, order, after, size);
+  }
+
+  /**
+   * Hands the employee's history to {@code action} row by row, in id order, without collecting it. Rows
+   * are DTO projections, so the persistence context stays empty however long the history is.
+   */
+  @Transactional(readOnly = true)
+  public void forEachAssignmentInHistory(Long employeeId, Consumer<AssignmentResponse> action) {
+    try (Stream<AssignmentResponse> history = assignmentRepository.streamResponsesByEmployeeId(employeeId)) {
+      history.forEach(action);
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public Long getEmployeeIdByEmail(String email) {
+    return employeeRepository.findByEmail(email)
+            .map(Employee::getId)
+            .orElseThrow(() -> new ApplicationException(HttpStatus.NOT_FOUND, "Pracownik nie został znaleziony"));
   }
 
   private AssignmentResponse mapToResponse(Assignment assignment) {
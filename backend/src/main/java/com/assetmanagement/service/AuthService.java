@@ -2,16 +2,18 @@ package com.assetmanagement.service;
 
 import com.assetmanagement.dto.request.ChangePasswordRequest;
 import com.assetmanagement.dto.request.LoginRequest;
+import com.assetmanagement.dto.request.RefreshTokenRequest;
 import com.assetmanagement.dto.response.LoginResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.Employee;
 import com.assetmanagement.repository.EmployeeRepository;
 import com.assetmanagement.security.JwtUtil;
+import com.assetmanagement.security.RefreshToken;
+import com.assetmanagement.security.RevokedTokenRegistry;
+import com.assetmanagement.security.TokenVersionCache;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -19,26 +21,52 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AuthService {
 
-  private final AuthenticationManager authenticationManager;
+  private static final String USER_NOT_FOUND_PASSWORD = "userNotFoundPassword";
+
   private final JwtUtil jwtUtil;
   private final EmployeeRepository employeeRepository;
   private final PasswordEncoder passwordEncoder;
+  private final TokenVersionCache tokenVersionCache;
+  private final RevokedTokenRegistry revokedTokenRegistry;
+
+  private volatile String userNotFoundEncodedPassword;
 
   public LoginResponse login(LoginRequest request) {
-    try {
-      authenticationManager.authenticate(
-              new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-      );
-    } catch (AuthenticationException e) {
+    Employee employee = employeeRepository.findByEmail(request.getEmail()).orElse(null);
+    if (employee == null) {
+      passwordEncoder.matches(request.getPassword(), userNotFoundEncodedPassword());
+      throw new ApplicationException(HttpStatus.UNAUTHORIZED, "Nieprawidłowy email lub hasło");
+    }
+    if (!passwordEncoder.matches(request.getPassword(), employee.getPassword())) {
       throw new ApplicationException(HttpStatus.UNAUTHORIZED, "Nieprawidłowy email lub hasło");
     }
+    if (passwordEncoder.upgradeEncoding(employee.getPassword())) {
+      employeeRepository.replacePasswordHash(employee.getId(), employee.getPassword(),
+              passwordEncoder.encode(request.getPassword()));
+    }
 
-    Employee employee = employeeRepository.findByEmail(request.getEmail())
-            .orElseThrow(() -> new ApplicationException(HttpStatus.UNAUTHORIZED, "Invalid email or password"));
+    return issueTokens(employee);
+  }
 
-    final String token = jwtUtil.generateToken(request.getEmail(), employee.getRole().name());
+  public LoginResponse refresh(RefreshTokenRequest request) {
+    RefreshToken refreshToken;
+    try {
+      refreshToken = jwtUtil.verifyRefreshToken(request.getRefreshToken());
+    } catch (JwtException | IllegalArgumentException e) {
+      throw new ApplicationException(HttpStatus.UNAUTHORIZED, "Nieprawidłowy token odświeżania");
+    }
+    if (revokedTokenRegistry.isRevoked(refreshToken.jti())) {
+      throw new ApplicationException(HttpStatus.UNAUTHORIZED, "Nieprawidłowy token odświeżania");
+    }
+
+    Employee employee = employeeRepository.findByEmail(refreshToken.subject())
+            .filter(e -> e.getTokenVersion() == refreshToken.tokenVersion())
+            .orElseThrow(() -> new ApplicationException(HttpStatus.UNAUTHORIZED, "Nieprawidłowy token odświeżania"));
+    if (!revokedTokenRegistry.revoke(refreshToken.jti(), refreshToken.expiresAt())) {
+      throw new ApplicationException(HttpStatus.UNAUTHORIZED, "Nieprawidłowy token odświeżania");
+    }
 
-    return new LoginResponse(token);
+    return issueTokens(employee);
   }
 
   public void changePassword(ChangePasswordRequest request) {
@@ -50,6 +78,23 @@ public class AuthService {
     }
 
     employee.setPassword(passwordEncoder.encode(request.getNewPassword()));
+    employee.revokeTokens();
     employeeRepository.save(employee);
+    tokenVersionCache.invalidateAfterCommit(employee.getEmail());
+  }
+
+  private LoginResponse issueTokens(Employee employee) {
+    final String token = jwtUtil.generateToken(employee.getEmail(), employee.getRole().name(),
+            employee.getTokenVersion());
+    final String refreshToken = jwtUtil.generateRefreshToken(employee.getEmail(), employee.getTokenVersion());
+
+    return new LoginResponse(token, refreshToken);
+  }
+
+  private String userNotFoundEncodedPassword() {
+    if (userNotFoundEncodedPassword == null) {
+      userNotFoundEncodedPassword = passwordEncoder.encode(USER_NOT_FOUND_PASSWORD);
+    }
+    return userNotFoundEncodedPassword;
   }
 }
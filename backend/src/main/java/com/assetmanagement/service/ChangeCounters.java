@@ -0,0 +1,71 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.repository.CollectionVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+
+/**
+ * Version counters of the listing endpoints, kept in the database so every instance hands out the same
+ * ETag. A write bumps the counters of the listings it changes in its own transaction, so a new ETag
+ * becomes visible exactly when the change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeCounters {
+
+  public enum Listing {
+    ASSETS,
+    ASSIGNMENTS,
+    EMPLOYEES;
+
+    String key() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private final CollectionVersionRepository collectionVersionRepository;
+
+  /**
+   * Counters start at the current time rather than zero, so ETags issued before the database was
+   * recreated do not match the new data.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void createMissingCounters() {
+    long initialVersion = System.currentTimeMillis();
+    for (Listing listing : Listing.values()) {
+      if (collectionVersionRepository.existsById(listing.key())) {
+        continue;
+      }
+      try {
+        collectionVersionRepository.insert(listing.key(), initialVersion);
+      } catch (DataIntegrityViolationException e) {
+        // Another instance created it first.
+      }
+    }
+  }
+
+  public String eTag(Listing listing) {
+    return listing.key() + "-" + current(listing);
+  }
+
+  @Transactional(readOnly = true)
+  public long current(Listing listing) {
+    return collectionVersionRepository.findVersion(listing.key()).orElse(0L);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void bump(Listing... listings) {
+    for (Listing listing : listings) {
+      if (collectionVersionRepository.increment(listing.key()) == 0) {
+        collectionVersionRepository.insert(listing.key(), System.currentTimeMillis());
+      }
+    }
+  }
+}
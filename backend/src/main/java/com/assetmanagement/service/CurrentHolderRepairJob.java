@@ -0,0 +1,37 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.repository.AssetRepository;
+import com.assetmanagement.repository.ListingCountCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CurrentHolderRepairJob {
+
+  private final AssetRepository assetRepository;
+  private final ListingCountCache listingCountCache;
+  private final ChangeCounters changeCounters;
+  private final ReadCoalescer readCoalescer;
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${asset.holder-repair.cron:0 30 3 * * *}")
+  @Transactional
+  public void repairCurrentHolders() {
+    int assignments = assetRepository.repairCurrentAssignments();
+    int employees = assetRepository.repairCurrentEmployees();
+
+    if (assignments > 0 || employees > 0) {
+      log.warn("Repaired current holder columns: {} assignment and {} employee references", assignments, employees);
+      listingCountCache.invalidateAfterCommit();
+      readCoalescer.invalidateAfterCommit();
+      changeCounters.bump(ChangeCounters.Listing.ASSETS);
+    }
+  }
+}
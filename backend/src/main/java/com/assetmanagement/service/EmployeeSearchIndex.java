@@ -0,0 +1,104 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.response.EmployeeResponse;
+import com.assetmanagement.model.Employee;
+import com.assetmanagement.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.Stream;
+
+/**
+ * Accent-insensitive prefix search over employee names and emails, so "lukasz zol" finds
+ * "Łukasz Żółć". Holds only ids and folded terms; rows are loaded for the requested page only.
+ */
+@Slf4j
+@Component
+public class EmployeeSearchIndex {
+
+  private final EmployeeRepository employeeRepository;
+  private final Object rebuildLock = new Object();
+  private volatile PrefixIndex index = PrefixIndex.build(Stream.empty());
+  private List<PrefixIndex.Document> addedDuringRebuild;
+
+  public EmployeeSearchIndex(EmployeeRepository employeeRepository) {
+    this.employeeRepository = employeeRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${employee.search-index.rebuild-cron:0 0 * * * *}")
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    synchronized (rebuildLock) {
+      synchronized (this) {
+        addedDuringRebuild = new ArrayList<>();
+      }
+      long start = System.nanoTime();
+      PrefixIndex rebuilt;
+      try (Stream<EmployeeResponse> employees = employeeRepository.streamAllResponses()) {
+        rebuilt = PrefixIndex.build(employees.map(employee -> document(employee.getId(), employee.getFullName(),
+                employee.getEmail())));
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          addedDuringRebuild = null;
+        }
+        throw e;
+      }
+      // Employees committed while the scan ran may be missing from it; add them to the new index.
+      synchronized (this) {
+        addedDuringRebuild.forEach(rebuilt::add);
+        addedDuringRebuild = null;
+        index = rebuilt;
+      }
+      log.info("Built employee search index: {} employees, {} terms in {} ms",
+              rebuilt.size(), rebuilt.termCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+  }
+
+  /** Ids of employees matching every word of the query, skipping the first {@code offset}. */
+  public List<Long> search(String query, long offset, int limit) {
+    PrimitiveIterator.OfLong ids = index.search(PrefixIndex.queryWords(query));
+    for (long skipped = 0; skipped < offset && ids.hasNext(); skipped++) {
+      ids.nextLong();
+    }
+    List<Long> matches = new ArrayList<>();
+    while (ids.hasNext() && matches.size() < limit) {
+      matches.add(ids.nextLong());
+    }
+    return matches;
+  }
+
+  public void addAfterCommit(Employee employee) {
+    PrefixIndex.Document document = document(employee.getId(), employee.getFullName(), employee.getEmail());
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      add(document);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        add(document);
+      }
+    });
+  }
+
+  private synchronized void add(PrefixIndex.Document document) {
+    index.add(document);
+    if (addedDuringRebuild != null) {
+      addedDuringRebuild.add(document);
+    }
+  }
+
+  private static PrefixIndex.Document document(long id, String fullName, String email) {
+    return new PrefixIndex.Document(id, PrefixIndex.terms(fullName, email));
+  }
+}
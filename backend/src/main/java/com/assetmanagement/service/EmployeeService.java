@@ -1,25 +1,41 @@
 package com.assetmanagement.service;
 
 import com.assetmanagement.dto.request.CreateEmployeeRequest;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.EmployeeResponse;
+import com.assetmanagement.dto.response.OptionResponse;
+import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.Employee;
+import com.assetmanagement.repository.EmployeeFilter;
 import com.assetmanagement.repository.EmployeeRepository;
+import com.assetmanagement.repository.ListingCountCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
+  static final int MAX_OPTIONS = 200;
+
   private final EmployeeRepository employeeRepository;
   private final PasswordEncoder passwordEncoder;
+  private final ChangeCounters changeCounters;
+  private final EmployeeSearchIndex employeeSearchIndex;
+  private final ListingCountCache listingCountCache;
 
   @Transactional
   public EmployeeResponse createEmployee(CreateEmployeeRequest request) {
@@ -36,14 +52,63 @@ public class EmployeeService {
     employee.setHiredUntil(request.getHiredUntil());
 
     Employee saved = employeeRepository.save(employee);
+    listingCountCache.invalidateAfterCommit();
+    changeCounters.bump(ChangeCounters.Listing.EMPLOYEES);
+    employeeSearchIndex.addAfterCommit(saved);
     return mapToResponse(saved);
   }
 
   @Transactional(readOnly = true)
-  public List<EmployeeResponse> getAllEmployees() {
-    return employeeRepository.findAll().stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+  public PagedResponse<EmployeeResponse> getAllEmployees(Pageable pageable, Boolean isCurrent) {
+    Page<EmployeeResponse> employeePage = employeeRepository.findEmployees(new EmployeeFilter(isCurrent), pageable);
+
+    return new PagedResponse<>(
+            employeePage.getContent(),
+            employeePage.getNumber(),
+            employeePage.getSize(),
+            employeePage.getTotalElements(),
+            employeePage.getTotalPages(),
+            employeePage.isLast()
+    );
+  }
+
+  @Transactional(readOnly = true)
+  public CursorPagedResponse<EmployeeResponse> getEmployeesAfter(String after, int size, Sort.Order order, Boolean isCurrent) {
+    return employeeRepository.findEmployeesAfter(new EmployeeFilter(isCurrent), order, after, size);
+  }
+
+  /**
+   * Matches come from {@link EmployeeSearchIndex} in its term order; only the rows of the requested
+   * page are read from the database.
+   */
+  @Transactional(readOnly = true)
+  public SlicedResponse<EmployeeResponse> searchEmployees(String query, Pageable pageable) {
+    List<Long> ids = employeeSearchIndex.search(query, pageable.getOffset(), pageable.getPageSize() + 1);
+    boolean hasNext = ids.size() > pageable.getPageSize();
+    List<Long> pageIds = hasNext ? ids.subList(0, pageable.getPageSize()) : ids;
+
+    Map<Long, EmployeeResponse> rows = new HashMap<>();
+    if (!pageIds.isEmpty()) {
+      employeeRepository.findResponsesByIdIn(pageIds).forEach(row -> rows.put(row.getId(), row));
+    }
+    List<EmployeeResponse> content = pageIds.stream()
+            .map(rows::get)
+            .filter(Objects::nonNull)
+            .toList();
+    return new SlicedResponse<>(content, pageable.getPageNumber(), pageable.getPageSize(), hasNext);
+  }
+
+  @Transactional(readOnly = true)
+  public List<OptionResponse> getEmployeeOptions(String prefix, int limit) {
+    return employeeRepository.findEmployeeOptions(prefix == null || prefix.isBlank() ? null : prefix.trim(),
+            Math.min(limit, MAX_OPTIONS));
+  }
+
+  @Transactional(readOnly = true)
+  public long getEmployeeVersion(Long id) {
+    return employeeRepository.findById(id)
+            .map(Employee::getVersion)
+            .orElseThrow(() -> new ApplicationException(HttpStatus.NOT_FOUND, "Pracownik nie został znaleziony"));
   }
 
   @Transactional(readOnly = true)
@@ -0,0 +1,231 @@
+package com.assetmanagement.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Term to id postings kept in one sorted array, so the ids under a prefix are a contiguous range found by
+ * binary search. Ids added after the build go to a small sorted overlay; callers rebuild periodically to
+ * fold it back in. Only ids and terms are held, never the documents themselves.
+ */
+final class PrefixIndex {
+
+  private static final Comparator<Posting> POSTING_ORDER =
+          Comparator.comparing(Posting::term).thenComparingLong(Posting::id);
+  private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+  private final String[] terms;
+  private final long[] ids;
+  private final ConcurrentSkipListSet<Posting> overlay = new ConcurrentSkipListSet<>(POSTING_ORDER);
+  private final Map<Long, String[]> documents;
+
+  private PrefixIndex(String[] terms, long[] ids, Map<Long, String[]> documents) {
+    this.terms = terms;
+    this.ids = ids;
+    this.documents = documents;
+  }
+
+  static PrefixIndex build(Stream<Document> source) {
+    Map<Long, String[]> documents = new ConcurrentHashMap<>();
+    List<Posting> postings = new ArrayList<>();
+    source.forEach(document -> {
+      documents.put(document.id(), document.terms());
+      for (String term : document.terms()) {
+        postings.add(new Posting(term, document.id()));
+      }
+    });
+    postings.sort(POSTING_ORDER);
+
+    String[] terms = new String[postings.size()];
+    long[] ids = new long[postings.size()];
+    for (int i = 0; i < postings.size(); i++) {
+      terms[i] = postings.get(i).term();
+      ids[i] = postings.get(i).id();
+    }
+    return new PrefixIndex(terms, ids, documents);
+  }
+
+  /** Adds a document unless its id is already indexed; terms of an indexed id never change. */
+  void add(Document document) {
+    if (documents.putIfAbsent(document.id(), document.terms()) == null) {
+      for (String term : document.terms()) {
+        overlay.add(new Posting(term, document.id()));
+      }
+    }
+  }
+
+  int size() {
+    return documents.size();
+  }
+
+  int termCount() {
+    return terms.length + overlay.size();
+  }
+
+  /**
+   * Distinct ids having a term that starts with each of the words, in the term order of the longest
+   * word. Callers take as many as they need; the rest is never visited.
+   */
+  PrimitiveIterator.OfLong search(List<String> words) {
+    if (words.isEmpty()) {
+      return LongStream.empty().iterator();
+    }
+    String driver = words.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+    PrimitiveIterator.OfLong candidates = withPrefix(driver);
+
+    return new PrimitiveIterator.OfLong() {
+      private final Set<Long> seen = new HashSet<>();
+      private long pending;
+      private boolean hasPending = advance();
+
+      private boolean advance() {
+        while (candidates.hasNext()) {
+          long id = candidates.nextLong();
+          if (matchesAll(id, words) && seen.add(id)) {
+            pending = id;
+            return true;
+          }
+        }
+        return false;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return hasPending;
+      }
+
+      @Override
+      public long nextLong() {
+        if (!hasPending) {
+          throw new NoSuchElementException();
+        }
+        long current = pending;
+        hasPending = advance();
+        return current;
+      }
+    };
+  }
+
+  private boolean matchesAll(long id, List<String> words) {
+    String[] documentTerms = documents.get(id);
+    for (String word : words) {
+      boolean matched = false;
+      for (String term : documentTerms) {
+        if (term.startsWith(word)) {
+          matched = true;
+          break;
+        }
+      }
+      if (!matched) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private PrimitiveIterator.OfLong withPrefix(String prefix) {
+    int from = lowerBound(prefix);
+    Iterator<Posting> added = overlay.tailSet(new Posting(prefix, Long.MIN_VALUE)).iterator();
+
+    return new PrimitiveIterator.OfLong() {
+      private int next = from;
+      private Posting addedNext = added.hasNext() ? added.next() : null;
+
+      @Override
+      public boolean hasNext() {
+        return (next < terms.length && terms[next].startsWith(prefix))
+                || (addedNext != null && addedNext.term().startsWith(prefix));
+      }
+
+      @Override
+      public long nextLong() {
+        if (next < terms.length && terms[next].startsWith(prefix)) {
+          return ids[next++];
+        }
+        if (addedNext != null && addedNext.term().startsWith(prefix)) {
+          long id = addedNext.id();
+          addedNext = added.hasNext() ? added.next() : null;
+          return id;
+        }
+        throw new NoSuchElementException();
+      }
+    };
+  }
+
+  private int lowerBound(String prefix) {
+    int index = Arrays.binarySearch(terms, prefix);
+    if (index < 0) {
+      return -index - 1;
+    }
+    while (index > 0 && terms[index - 1].equals(prefix)) {
+      index--;
+    }
+    return index;
+  }
+
+  /** Lower case without diacritics: "Łukasz Żółć" folds to "lukasz zolc". */
+  static String fold(String value) {
+    String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+    return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+            .replace('ł', 'l').replace('Ł', 'L')
+            .toLowerCase(Locale.ROOT);
+  }
+
+  /** Folded with everything but letters and digits removed, so "AP-IP14" and "apip14" are equal. */
+  static String compact(String value) {
+    return WORD_SEPARATOR.matcher(fold(value)).replaceAll("");
+  }
+
+  /** Folded words of the given texts plus each text compacted whole, deduplicated. */
+  static String[] terms(String... texts) {
+    Set<String> terms = new LinkedHashSet<>();
+    for (String text : texts) {
+      if (text == null) {
+        continue;
+      }
+      terms.add(compact(text));
+      for (String word : WORD_SEPARATOR.split(fold(text))) {
+        terms.add(word);
+      }
+    }
+    terms.remove("");
+    return terms.toArray(String[]::new);
+  }
+
+  static List<String> queryWords(String query) {
+    if (query == null) {
+      return List.of();
+    }
+    List<String> words = new ArrayList<>();
+    for (String word : query.trim().split("\\s+")) {
+      String compacted = compact(word);
+      if (!compacted.isEmpty()) {
+        words.add(compacted);
+      }
+    }
+    return words;
+  }
+
+  record Document(long id, String[] terms) {
+  }
+
+  private record Posting(String term, long id) {
+  }
+}
@@ -0,0 +1,111 @@
+package com.assetmanagement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for listing reads: concurrent calls with the same filter, page and sort share one
+ * computation. Nothing is kept once the computation finishes. Followers wait outside any transaction,
+ * so they do not hold a pooled connection while the leader queries. A committed write starts a new
+ * generation, and calls arriving after it never join a flight that began before.
+ */
+@Component
+public class ReadCoalescer {
+
+  private final TransactionOperations readOnlyTransaction;
+  private final MeterRegistry meterRegistry;
+  private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  @Autowired
+  public ReadCoalescer(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+    this(readOnly(transactionManager), meterRegistry);
+  }
+
+  ReadCoalescer(TransactionOperations readOnlyTransaction, MeterRegistry meterRegistry) {
+    this.readOnlyTransaction = readOnlyTransaction;
+    this.meterRegistry = meterRegistry;
+  }
+
+  private static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+    TransactionTemplate template = new TransactionTemplate(transactionManager);
+    template.setReadOnly(true);
+    return template;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T execute(String listing, Object filter, Pageable pageable, Supplier<T> loader) {
+    // Inside a caller's transaction the result may depend on its uncommitted writes.
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return loader.get();
+    }
+
+    Key key = new Key(listing, filter, pageable, generation.get());
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+    if (existing != null) {
+      meterRegistry.counter("listing.reads", "listing", listing, "result", "coalesced").increment();
+      return (T) await(existing);
+    }
+
+    meterRegistry.counter("listing.reads", "listing", listing, "result", "executed").increment();
+    try {
+      T result = readOnlyTransaction.execute(status -> loader.get());
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  public void invalidate() {
+    generation.incrementAndGet();
+  }
+
+  public void invalidateAfterCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidate();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        invalidate();
+      }
+    });
+  }
+
+  private static Object await(CompletableFuture<Object> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private record Key(String listing, Object filter, Pageable pageable, long generation) {
+  }
+}
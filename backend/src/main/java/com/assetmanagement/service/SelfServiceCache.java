@@ -0,0 +1,92 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
+import com.assetmanagement.dto.response.EmployeeAssetResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Responses of the self-service pages per employee id. Assignment writes evict the affected employee
+ * once they commit; a load racing with the eviction finishes before the entry is removed.
+ *
+ * <p>That only holds if the loader reads a snapshot taken after the load started. Inside a caller's
+ * transaction the snapshot may predate a write whose eviction has already run, so there the cache is
+ * read but never filled.
+ */
+@Component
+public class SelfServiceCache {
+
+  private final Cache<Key, Object> responses;
+
+  public SelfServiceCache(@Value("${employee.self-service-cache.max-entries:10000}") long maxEntries,
+                          @Value("${employee.self-service-cache.ttl:10m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+    this.responses = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, responses, "employee.self-service");
+  }
+
+  public List<EmployeeAssetResponse> activeAssets(Long employeeId, Supplier<List<EmployeeAssetResponse>> loader) {
+    return get(new Key(employeeId, View.ACTIVE_ASSETS), () -> List.copyOf(loader.get()));
+  }
+
+  public List<AssignmentResponse> assignmentHistory(Long employeeId, Supplier<List<AssignmentResponse>> loader) {
+    return get(new Key(employeeId, View.ASSIGNMENT_HISTORY), () -> List.copyOf(loader.get()));
+  }
+
+  public CursorPagedResponse<AssignmentResponse> firstHistoryPage(Long employeeId,
+                                                                  Supplier<CursorPagedResponse<AssignmentResponse>> loader) {
+    return get(new Key(employeeId, View.FIRST_HISTORY_PAGE), loader);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T get(Key key, Supplier<T> loader) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      T cached = (T) responses.getIfPresent(key);
+      return cached != null ? cached : loader.get();
+    }
+    return (T) responses.get(key, k -> loader.get());
+  }
+
+  public void evict(Long employeeId) {
+    for (View view : View.values()) {
+      responses.invalidate(new Key(employeeId, view));
+    }
+  }
+
+  public void evictAfterCommit(Long employeeId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      evict(employeeId);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        evict(employeeId);
+      }
+    });
+  }
+
+  private enum View {
+    ACTIVE_ASSETS,
+    ASSIGNMENT_HISTORY,
+    FIRST_HISTORY_PAGE
+  }
+
+  private record Key(Long employeeId, View view) {
+  }
+}
@@ -17,6 +17,7 @@ INSERT INTO assets (asset_type, vendor, model, series_number, is_active) VALUES
 
 -- Insert test assignment (employee Jan Kowalski has laptop assigned)
 INSERT INTO assignments (asset_id, employee_id, assigned_from, assigned_until) VALUES (1, 2, '2024-01-01', NULL);
+UPDATE assets SET current_assignment_id = 1, current_employee_id = 2 WHERE id = 1;
 
 -- Test credentials:
 -- admin@example.com / admin123
@@ -2,12 +2,17 @@ package com.assetmanagement.controller;
 
 import com.assetmanagement.dto.request.CreateAssetRequest;
 import com.assetmanagement.dto.response.AssetResponse;
+import com.assetmanagement.dto.response.AssetSearchResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.EmployeeAssetResponse;
+import com.assetmanagement.dto.response.OptionResponse;
 import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.AssetType;
-import com.assetmanagement.security.CustomUserDetailsService;
 import com.assetmanagement.security.JwtUtil;
+import com.assetmanagement.security.TokenVersionCache;
+import com.assetmanagement.service.ChangeCounters;
 import com.assetmanagement.service.AssetService;
 import tools.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -27,6 +33,10 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -48,13 +58,17 @@ class AssetControllerTest {
     @BeforeEach
     void setUp() {
         jsonMapper = JsonMapper.builder().build();
+        when(changeCounters.eTag(ChangeCounters.Listing.ASSETS)).thenReturn("assets-7");
     }
 
     @MockitoBean
     private JwtUtil jwtUtil;
 
     @MockitoBean
-    private CustomUserDetailsService customUserDetailsService;
+    private TokenVersionCache tokenVersionCache;
+
+    @MockitoBean
+    private ChangeCounters changeCounters;
 
     @Nested
     @DisplayName("POST /api/v1/admin/assets")
@@ -156,11 +170,24 @@ class AssetControllerTest {
 
             mockMvc.perform(get("/api/v1/admin/assets"))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"assets-7\""))
                     .andExpect(jsonPath("$.content[0].id").value(1))
                     .andExpect(jsonPath("$.content[0].vendor").value("Dell"))
                     .andExpect(jsonPath("$.totalElements").value(1));
         }
 
+        @Test
+        @DisplayName("Should return 304 without querying when listing is unchanged")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn304WhenListingUnchanged() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/assets")
+                            .header("If-None-Match", "\"assets-7\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"assets-7\""));
+
+            verify(assetService, never()).getAllAssets(any(Pageable.class), any(), any(), any());
+        }
+
         @Test
         @DisplayName("Should filter assets by active status")
         @WithMockUser(roles = "ADMIN")
@@ -196,6 +223,202 @@ class AssetControllerTest {
 
             verify(assetService).getAllAssets(any(Pageable.class), any(), eq(AssetType.LAPTOP), any());
         }
+
+        @Test
+        @DisplayName("Should honor sort parameter sent as field,direction")
+        @WithMockUser(roles = "ADMIN")
+        void shouldHonorSortParameter() throws Exception {
+            PagedResponse<AssetResponse> pagedResponse = new PagedResponse<>(
+                    List.of(), 0, 20, 0, 0, true
+            );
+
+            when(assetService.getAllAssets(any(Pageable.class), any(), any(), any()))
+                    .thenReturn(pagedResponse);
+
+            mockMvc.perform(get("/api/v1/admin/assets")
+                            .param("sort", "vendor,desc"))
+                    .andExpect(status().isOk());
+
+            verify(assetService).getAllAssets(argThat((Pageable pageable) ->
+                    Sort.by(Sort.Order.desc("vendor")).equals(pageable.getSort())), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should fall back to sortBy and sortDir without sort parameter")
+        @WithMockUser(roles = "ADMIN")
+        void shouldFallBackToSortByAndSortDir() throws Exception {
+            PagedResponse<AssetResponse> pagedResponse = new PagedResponse<>(
+                    List.of(), 0, 20, 0, 0, true
+            );
+
+            when(assetService.getAllAssets(any(Pageable.class), any(), any(), any()))
+                    .thenReturn(pagedResponse);
+
+            mockMvc.perform(get("/api/v1/admin/assets")
+                            .param("sortBy", "model")
+                            .param("sortDir", "desc"))
+                    .andExpect(status().isOk());
+
+            verify(assetService).getAllAssets(argThat((Pageable pageable) ->
+                    Sort.by(Sort.Order.desc("model")).equals(pageable.getSort())), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/assets?withTotal=false")
+    class GetAssetSliceTests {
+
+        @Test
+        @DisplayName("Should return slice without totals")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnSliceWithoutTotals() throws Exception {
+            AssetResponse asset = new AssetResponse();
+            asset.setId(1L);
+
+            SlicedResponse<AssetResponse> slicedResponse = new SlicedResponse<>(List.of(asset), 0, 20, true);
+
+            when(assetService.getAssetSlice(any(Pageable.class), any(), any(), eq(false)))
+                    .thenReturn(slicedResponse);
+
+            mockMvc.perform(get("/api/v1/admin/assets")
+                            .param("withTotal", "false")
+                            .param("isAssigned", "false"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1))
+                    .andExpect(jsonPath("$.hasNext").value(true))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            verify(assetService, never()).getAllAssets(any(Pageable.class), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/assets?after=")
+    class GetAssetsAfterTests {
+
+        @Test
+        @DisplayName("Should return cursor page when after parameter is present")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnCursorPage() throws Exception {
+            AssetResponse asset = new AssetResponse();
+            asset.setId(1L);
+            asset.setVendor("Dell");
+
+            CursorPagedResponse<AssetResponse> cursorResponse = new CursorPagedResponse<>(
+                    List.of(asset), 1, "next-token", false
+            );
+
+            when(assetService.getAssetsAfter(eq(""), eq(1), eq(Sort.Order.asc("vendor")), any(), any(), any()))
+                    .thenReturn(cursorResponse);
+
+            mockMvc.perform(get("/api/v1/admin/assets")
+                            .param("after", "")
+                            .param("size", "1")
+                            .param("sortBy", "vendor"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].vendor").value("Dell"))
+                    .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                    .andExpect(jsonPath("$.last").value(false))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            verify(assetService, never()).getAllAssets(any(Pageable.class), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for invalid cursor")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn400ForInvalidCursor() throws Exception {
+            when(assetService.getAssetsAfter(eq("broken"), anyInt(), any(Sort.Order.class), any(), any(), any()))
+                    .thenThrow(new ApplicationException(HttpStatus.BAD_REQUEST, "Nieprawidłowy kursor"));
+
+            mockMvc.perform(get("/api/v1/admin/assets")
+                            .param("after", "broken"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/assets/options")
+    class GetAssetOptionsTests {
+
+        @Test
+        @DisplayName("Should return available asset options with defaults")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnAvailableAssetOptions() throws Exception {
+            when(assetService.getAssetOptions(null, true, 20))
+                    .thenReturn(List.of(new OptionResponse(5L, "Apple iPhone 14 (AP-IP14-005)")));
+
+            mockMvc.perform(get("/api/v1/admin/assets/options"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"assets-7\""))
+                    .andExpect(jsonPath("$[0].id").value(5))
+                    .andExpect(jsonPath("$[0].label").value("Apple iPhone 14 (AP-IP14-005)"))
+                    .andExpect(jsonPath("$[0].vendor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should pass prefix, availability and limit to the service")
+        @WithMockUser(roles = "ADMIN")
+        void shouldPassQueryParameters() throws Exception {
+            when(assetService.getAssetOptions("App", false, 50)).thenReturn(List.of());
+
+            mockMvc.perform(get("/api/v1/admin/assets/options")
+                            .param("prefix", "App")
+                            .param("availableOnly", "false")
+                            .param("limit", "50"))
+                    .andExpect(status().isOk());
+
+            verify(assetService).getAssetOptions("App", false, 50);
+        }
+
+        @Test
+        @DisplayName("Should return 304 without querying when assets are unchanged")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn304WhenAssetsUnchanged() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/assets/options")
+                            .header("If-None-Match", "\"assets-7\""))
+                    .andExpect(status().isNotModified());
+
+            verify(assetService, never()).getAssetOptions(any(), anyBoolean(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should return 403 Forbidden for non-admin user")
+        @WithMockUser(roles = "EMPLOYEE")
+        void shouldReturn403ForNonAdmin() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/assets/options"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/assets/search")
+    class SearchAssetsTests {
+
+        @Test
+        @DisplayName("Should return matching assets")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnMatchingAssets() throws Exception {
+            when(assetService.searchAssets("ap-ip", 10)).thenReturn(List.of(
+                    new AssetSearchResponse(5L, AssetType.SMARTPHONE, "Apple", "iPhone 14", "AP-IP14-005", true)));
+
+            mockMvc.perform(get("/api/v1/admin/assets/search").param("q", "ap-ip"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(5))
+                    .andExpect(jsonPath("$[0].seriesNumber").value("AP-IP14-005"))
+                    .andExpect(jsonPath("$[0].isActive").value(true));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when limit is below one")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn400ForInvalidLimit() throws Exception {
+            when(assetService.searchAssets("dell", 0))
+                    .thenThrow(new ApplicationException(HttpStatus.BAD_REQUEST, "Limit wyników musi być większy od zera"));
+
+            mockMvc.perform(get("/api/v1/admin/assets/search").param("q", "dell").param("limit", "0"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -214,14 +437,29 @@ class AssetControllerTest {
             response.setSeriesNumber("SN12345");
             response.setActive(true);
 
+            when(assetService.getAssetVersion(1L)).thenReturn(3L);
             when(assetService.getAssetById(1L)).thenReturn(response);
 
             mockMvc.perform(get("/api/v1/admin/assets/1"))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"asset-1-3\""))
                     .andExpect(jsonPath("$.id").value(1))
                     .andExpect(jsonPath("$.vendor").value("Dell"));
         }
 
+        @Test
+        @DisplayName("Should return 304 when asset version is unchanged")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn304WhenAssetUnchanged() throws Exception {
+            when(assetService.getAssetVersion(1L)).thenReturn(3L);
+
+            mockMvc.perform(get("/api/v1/admin/assets/1")
+                            .header("If-None-Match", "\"asset-1-3\""))
+                    .andExpect(status().isNotModified());
+
+            verify(assetService, never()).getAssetById(anyLong());
+        }
+
         @Test
         @DisplayName("Should return 404 when asset not found")
         @WithMockUser(roles = "ADMIN")
@@ -3,10 +3,14 @@ package com.assetmanagement.controller;
 import com.assetmanagement.dto.request.CreateAssignmentRequest;
 import com.assetmanagement.dto.request.EndAssignmentRequest;
 import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.exception.ApplicationException;
-import com.assetmanagement.security.CustomUserDetailsService;
+import com.assetmanagement.model.Asset;
 import com.assetmanagement.security.JwtUtil;
+import com.assetmanagement.security.TokenVersionCache;
+import com.assetmanagement.service.ChangeCounters;
 import com.assetmanagement.service.AssignmentService;
 import tools.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,16 +21,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -49,11 +58,15 @@ class AssignmentControllerTest {
     private JwtUtil jwtUtil;
 
     @MockitoBean
-    private CustomUserDetailsService customUserDetailsService;
+    private TokenVersionCache tokenVersionCache;
+
+    @MockitoBean
+    private ChangeCounters changeCounters;
 
     @BeforeEach
     void setUp() {
         jsonMapper = JsonMapper.builder().build();
+        when(changeCounters.eTag(ChangeCounters.Listing.ASSIGNMENTS)).thenReturn("assignments-4");
     }
 
     private AssignmentResponse createTestAssignmentResponse() {
@@ -138,6 +151,27 @@ class AssignmentControllerTest {
                     .andExpect(status().isBadRequest());
         }
 
+        @Test
+        @DisplayName("Should return 409 when the asset is assigned concurrently")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn409WhenAssetChangedConcurrently() throws Exception {
+            CreateAssignmentRequest request = new CreateAssignmentRequest();
+            request.setEmployeeId(1L);
+            request.setAssetId(1L);
+            request.setAssignedFrom(LocalDate.of(2024, 1, 15));
+
+            when(assignmentService.createAssignment(any(CreateAssignmentRequest.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Asset.class, 1L));
+
+            mockMvc.perform(post("/api/v1/admin/assignments")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(request)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.code").value("Conflict"))
+                    .andExpect(jsonPath("$.message").exists());
+        }
+
         @Test
         @DisplayName("Should return 403 Forbidden for non-admin user")
         @WithMockUser(roles = "EMPLOYEE")
@@ -220,6 +254,23 @@ class AssignmentControllerTest {
                     .andExpect(status().isBadRequest());
         }
 
+        @Test
+        @DisplayName("Should return 409 when the assignment is ended concurrently")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn409WhenAssignmentEndedConcurrently() throws Exception {
+            EndAssignmentRequest request = new EndAssignmentRequest();
+            request.setAssignedUntil(LocalDate.of(2024, 6, 30));
+
+            when(assignmentService.endAssignment(eq(1L), any(EndAssignmentRequest.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Asset.class, 1L));
+
+            mockMvc.perform(put("/api/v1/admin/assignments/1/end")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(request)))
+                    .andExpect(status().isConflict());
+        }
+
         @Test
         @DisplayName("Should return 400 when end date is before start date")
         @WithMockUser(roles = "ADMIN")
@@ -273,6 +324,7 @@ class AssignmentControllerTest {
 
             mockMvc.perform(get("/api/v1/admin/assignments"))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"assignments-4\""))
                     .andExpect(jsonPath("$.content[0].id").value(1))
                     .andExpect(jsonPath("$.content[0].employeeFullName").value("Jan Kowalski"))
                     .andExpect(jsonPath("$.totalElements").value(1));
@@ -325,6 +377,72 @@ class AssignmentControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/admin/assignments?withTotal=false")
+    class GetAssignmentSliceTests {
+
+        @Test
+        @DisplayName("Should return slice without totals")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnSliceWithoutTotals() throws Exception {
+            SlicedResponse<AssignmentResponse> slicedResponse = new SlicedResponse<>(
+                    List.of(createTestAssignmentResponse()), 0, 20, false
+            );
+
+            when(assignmentService.getAssignmentSlice(any(Pageable.class), any(), eq(1L), any()))
+                    .thenReturn(slicedResponse);
+
+            mockMvc.perform(get("/api/v1/admin/assignments")
+                            .param("withTotal", "false")
+                            .param("employeeId", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hasNext").value(false))
+                    .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+            verify(assignmentService, never()).getAllAssignments(any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/assignments?after=")
+    class GetAssignmentsAfterTests {
+
+        @Test
+        @DisplayName("Should return cursor page sorted by assignedFrom")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnCursorPage() throws Exception {
+            CursorPagedResponse<AssignmentResponse> cursorResponse = new CursorPagedResponse<>(
+                    List.of(createTestAssignmentResponse()), 20, null, true
+            );
+
+            when(assignmentService.getAssignmentsAfter(eq("token"), eq(20), eq(Sort.Order.desc("assignedFrom")),
+                    eq(true), any(), any()))
+                    .thenReturn(cursorResponse);
+
+            mockMvc.perform(get("/api/v1/admin/assignments")
+                            .param("after", "token")
+                            .param("sortBy", "assignedFrom")
+                            .param("sortDir", "desc")
+                            .param("isActive", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1))
+                    .andExpect(jsonPath("$.last").value(true));
+
+            verify(assignmentService, never()).getAllAssignments(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 403 for non-admin user")
+        @WithMockUser(roles = "EMPLOYEE")
+        void shouldReturn403ForNonAdmin() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/assignments")
+                            .param("after", ""))
+                    .andExpect(status().isForbidden());
+
+            verify(assignmentService, never()).getAssignmentsAfter(any(), anyInt(), any(), any(), any(), any());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/employee/assignments")
     class GetMyAssignmentHistoryTests {
@@ -346,6 +464,26 @@ class AssignmentControllerTest {
             verify(assignmentService).getAssignmentHistoryByEmployeeEmail("employee@example.com");
         }
 
+        @Test
+        @DisplayName("Should not answer 304 with another user's ETag")
+        @WithMockUser(username = "employee@example.com", roles = "EMPLOYEE")
+        void shouldNotReuseAnotherUsersETag() throws Exception {
+            when(assignmentService.getAssignmentHistoryByEmployeeEmail("employee@example.com"))
+                    .thenReturn(List.of());
+            String otherUsersETag = "\"assignments-4-" + Integer.toHexString("other@example.com".hashCode()) + "\"";
+
+            mockMvc.perform(get("/api/v1/employee/assignments")
+                            .header("If-None-Match", otherUsersETag))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/v1/employee/assignments")
+                            .header("If-None-Match", "\"assignments-4-"
+                                    + Integer.toHexString("employee@example.com".hashCode()) + "\""))
+                    .andExpect(status().isNotModified());
+
+            verify(assignmentService, times(1)).getAssignmentHistoryByEmployeeEmail("employee@example.com");
+        }
+
         @Test
         @DisplayName("Should return assignment history for admin")
         @WithMockUser(username = "admin@example.com", roles = "ADMIN")
@@ -372,4 +510,87 @@ class AssignmentControllerTest {
                     .andExpect(jsonPath("$").isEmpty());
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/v1/employee/assignments?after=")
+    class GetMyAssignmentHistoryAfterTests {
+
+        @Test
+        @DisplayName("Should return cursor page of own history")
+        @WithMockUser(username = "employee@example.com", roles = "EMPLOYEE")
+        void shouldReturnCursorPageOfOwnHistory() throws Exception {
+            CursorPagedResponse<AssignmentResponse> cursorResponse = new CursorPagedResponse<>(
+                    List.of(createTestAssignmentResponse()), 1, "next-token", false
+            );
+
+            when(assignmentService.getAssignmentHistoryAfter("employee@example.com", "", 1,
+                    Sort.Order.desc("assignedFrom"))).thenReturn(cursorResponse);
+
+            mockMvc.perform(get("/api/v1/employee/assignments")
+                            .param("after", "")
+                            .param("size", "1")
+                            .param("sort", "assignedFrom,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1))
+                    .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                    .andExpect(jsonPath("$.last").value(false));
+
+            verify(assignmentService, never()).getAssignmentHistoryByEmployeeEmail(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/employee/assignments?stream=true")
+    class StreamMyAssignmentHistoryTests {
+
+        @Test
+        @DisplayName("Should write history as a JSON array while rows are read")
+        @WithMockUser(username = "employee@example.com", roles = "EMPLOYEE")
+        @SuppressWarnings("unchecked")
+        void shouldStreamHistoryAsJsonArray() throws Exception {
+            AssignmentResponse first = createTestAssignmentResponse();
+            AssignmentResponse second = createTestAssignmentResponse();
+            second.setId(2L);
+            second.setActive(false);
+
+            when(assignmentService.getEmployeeIdByEmail("employee@example.com")).thenReturn(7L);
+            doAnswer(invocation -> {
+                Consumer<AssignmentResponse> action = invocation.getArgument(1);
+                action.accept(first);
+                action.accept(second);
+                return null;
+            }).when(assignmentService).forEachAssignmentInHistory(eq(7L), any(Consumer.class));
+
+            MvcResult result = mockMvc.perform(get("/api/v1/employee/assignments")
+                            .param("stream", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("ETag", "\"assignments-4-"
+                            + Integer.toHexString("employee@example.com".hashCode()) + "\""))
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].id").value(1))
+                    .andExpect(jsonPath("$[1].id").value(2))
+                    .andExpect(jsonPath("$[1].isActive").value(false));
+
+            verify(assignmentService, never()).getAssignmentHistoryByEmployeeEmail(any());
+        }
+
+        @Test
+        @DisplayName("Should return 404 before streaming when employee is unknown")
+        @WithMockUser(username = "ghost@example.com", roles = "EMPLOYEE")
+        void shouldReturn404BeforeStreaming() throws Exception {
+            when(assignmentService.getEmployeeIdByEmail("ghost@example.com"))
+                    .thenThrow(new ApplicationException(HttpStatus.NOT_FOUND, "Pracownik nie został znaleziony"));
+
+            mockMvc.perform(get("/api/v1/employee/assignments")
+                            .param("stream", "true"))
+                    .andExpect(status().isNotFound());
+
+            verify(assignmentService, never()).forEachAssignmentInHistory(any(), any());
+        }
+    }
 }
@@ -2,10 +2,13 @@ package com.assetmanagement.controller;
 
 import com.assetmanagement.dto.request.ChangePasswordRequest;
 import com.assetmanagement.dto.request.LoginRequest;
+import com.assetmanagement.dto.request.RefreshTokenRequest;
 import com.assetmanagement.dto.response.LoginResponse;
 import com.assetmanagement.exception.ApplicationException;
-import com.assetmanagement.security.CustomUserDetailsService;
+import com.assetmanagement.exception.RetryLaterException;
 import com.assetmanagement.security.JwtUtil;
+import com.assetmanagement.security.LoginRateLimiter;
+import com.assetmanagement.security.TokenVersionCache;
 import com.assetmanagement.service.AuthService;
 import tools.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,7 +24,11 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -39,6 +46,9 @@ class AuthControllerTest {
     @MockitoBean
     private AuthService authService;
 
+    @MockitoBean
+    private LoginRateLimiter loginRateLimiter;
+
     @BeforeEach
     void setUp() {
         jsonMapper = JsonMapper.builder().build();
@@ -48,7 +58,7 @@ class AuthControllerTest {
     private JwtUtil jwtUtil;
 
     @MockitoBean
-    private CustomUserDetailsService customUserDetailsService;
+    private TokenVersionCache tokenVersionCache;
 
     @Nested
     @DisplayName("POST /api/v1/auth/login")
@@ -62,7 +72,7 @@ class AuthControllerTest {
             request.setEmail("user@example.com");
             request.setPassword("password123");
 
-            LoginResponse response = new LoginResponse("jwt.token.here");
+            LoginResponse response = new LoginResponse("jwt.token.here", "refresh.token.here");
             when(authService.login(any(LoginRequest.class))).thenReturn(response);
 
             mockMvc.perform(post("/api/v1/auth/login")
@@ -70,7 +80,8 @@ class AuthControllerTest {
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(jsonMapper.writeValueAsString(request)))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.token").value("jwt.token.here"));
+                    .andExpect(jsonPath("$.token").value("jwt.token.here"))
+                    .andExpect(jsonPath("$.refreshToken").value("refresh.token.here"));
 
             verify(authService).login(any(LoginRequest.class));
         }
@@ -93,6 +104,48 @@ class AuthControllerTest {
                     .andExpect(status().isUnauthorized());
         }
 
+        @Test
+        @DisplayName("Should return 503 with Retry-After when password hashing is saturated")
+        @WithMockUser
+        void shouldReturn503WhenHashingSaturated() throws Exception {
+            LoginRequest request = new LoginRequest();
+            request.setEmail("user@example.com");
+            request.setPassword("password123");
+
+            when(authService.login(any(LoginRequest.class)))
+                    .thenThrow(new RetryLaterException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Serwer jest przeciążony, spróbuj ponownie później", Duration.ofMillis(1500)));
+
+            mockMvc.perform(post("/api/v1/auth/login")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(request)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"));
+        }
+
+        @Test
+        @DisplayName("Should return 429 before authenticating when rate limit is exceeded")
+        @WithMockUser
+        void shouldReturn429WhenRateLimited() throws Exception {
+            LoginRequest request = new LoginRequest();
+            request.setEmail("user@example.com");
+            request.setPassword("password123");
+
+            doThrow(new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Zbyt wiele prób, spróbuj ponownie później", Duration.ofSeconds(12)))
+                    .when(loginRateLimiter).acquire(anyString(), eq("user@example.com"));
+
+            mockMvc.perform(post("/api/v1/auth/login")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(request)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "12"));
+
+            verify(authService, never()).login(any());
+        }
+
         @Test
         @DisplayName("Should return 400 Bad Request when email is missing")
         @WithMockUser
@@ -126,6 +179,40 @@ class AuthControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/auth/refresh")
+    class RefreshTests {
+
+        @Test
+        @DisplayName("Should return 200 OK with rotated tokens")
+        @WithMockUser
+        void shouldReturnRotatedTokens() throws Exception {
+            when(authService.refresh(any(RefreshTokenRequest.class)))
+                    .thenReturn(new LoginResponse("new.access.token", "new.refresh.token"));
+
+            mockMvc.perform(post("/api/v1/auth/refresh")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(new RefreshTokenRequest("refresh.token"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.token").value("new.access.token"))
+                    .andExpect(jsonPath("$.refreshToken").value("new.refresh.token"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when refresh token is missing")
+        @WithMockUser
+        void shouldReturn400WhenRefreshTokenMissing() throws Exception {
+            mockMvc.perform(post("/api/v1/auth/refresh")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(new RefreshTokenRequest())))
+                    .andExpect(status().isBadRequest());
+
+            verify(authService, never()).refresh(any());
+        }
+    }
+
     @Nested
     @DisplayName("POST /api/v1/auth/change-password")
     class ChangePasswordTests {
@@ -1,11 +1,16 @@
 package com.assetmanagement.controller;
 
 import com.assetmanagement.dto.request.CreateEmployeeRequest;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.EmployeeResponse;
+import com.assetmanagement.dto.response.OptionResponse;
+import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.Role;
-import com.assetmanagement.security.CustomUserDetailsService;
 import com.assetmanagement.security.JwtUtil;
+import com.assetmanagement.security.TokenVersionCache;
+import com.assetmanagement.service.ChangeCounters;
 import com.assetmanagement.service.EmployeeService;
 import tools.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -25,6 +33,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -46,11 +57,15 @@ class EmployeeControllerTest {
     private JwtUtil jwtUtil;
 
     @MockitoBean
-    private CustomUserDetailsService customUserDetailsService;
+    private TokenVersionCache tokenVersionCache;
+
+    @MockitoBean
+    private ChangeCounters changeCounters;
 
     @BeforeEach
     void setUp() {
         jsonMapper = JsonMapper.builder().build();
+        when(changeCounters.eTag(ChangeCounters.Listing.EMPLOYEES)).thenReturn("employees-2");
     }
 
     @Nested
@@ -168,28 +183,52 @@ class EmployeeControllerTest {
             employee2.setEmail("anna@example.com");
             employee2.setRole(Role.ADMIN);
 
-            when(employeeService.getAllEmployees()).thenReturn(List.of(employee1, employee2));
+            PagedResponse<EmployeeResponse> pagedResponse = new PagedResponse<>(
+                    List.of(employee1, employee2), 0, 20, 2, 1, true
+            );
+
+            when(employeeService.getAllEmployees(any(Pageable.class), isNull())).thenReturn(pagedResponse);
 
             mockMvc.perform(get("/api/v1/admin/employees"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$[0].id").value(1))
-                    .andExpect(jsonPath("$[0].fullName").value("Jan Kowalski"))
-                    .andExpect(jsonPath("$[1].id").value(2))
-                    .andExpect(jsonPath("$[1].fullName").value("Anna Nowak"));
+                    .andExpect(jsonPath("$.content[0].id").value(1))
+                    .andExpect(jsonPath("$.content[0].fullName").value("Jan Kowalski"))
+                    .andExpect(jsonPath("$.content[1].id").value(2))
+                    .andExpect(jsonPath("$.content[1].fullName").value("Anna Nowak"))
+                    .andExpect(jsonPath("$.totalElements").value(2));
+
+            verify(employeeService).getAllEmployees(PageRequest.of(0, 20, Sort.by("id")), null);
+        }
+
+        @Test
+        @DisplayName("Should pass current filter and sort to service")
+        @WithMockUser(roles = "ADMIN")
+        void shouldPassCurrentFilterAndSort() throws Exception {
+            when(employeeService.getAllEmployees(any(Pageable.class), eq(true)))
+                    .thenReturn(new PagedResponse<>(List.of(), 1, 10, 0, 0, true));
+
+            mockMvc.perform(get("/api/v1/admin/employees")
+                            .param("page", "1")
+                            .param("size", "10")
+                            .param("sort", "hiredFrom,desc")
+                            .param("isCurrent", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"employees-2-" + LocalDate.now() + "\""));
 
-            verify(employeeService).getAllEmployees();
+            verify(employeeService).getAllEmployees(PageRequest.of(1, 10, Sort.by(Sort.Order.desc("hiredFrom"))), true);
         }
 
         @Test
         @DisplayName("Should return empty list when no employees")
         @WithMockUser(roles = "ADMIN")
         void shouldReturnEmptyListWhenNoEmployees() throws Exception {
-            when(employeeService.getAllEmployees()).thenReturn(List.of());
+            when(employeeService.getAllEmployees(any(Pageable.class), any()))
+                    .thenReturn(new PagedResponse<>(List.of(), 0, 20, 0, 0, true));
 
             mockMvc.perform(get("/api/v1/admin/employees"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$").isArray())
-                    .andExpect(jsonPath("$").isEmpty());
+                    .andExpect(jsonPath("$.content").isArray())
+                    .andExpect(jsonPath("$.content").isEmpty());
         }
 
         @Test
@@ -199,7 +238,131 @@ class EmployeeControllerTest {
             mockMvc.perform(get("/api/v1/admin/employees"))
                     .andExpect(status().isForbidden());
 
-            verify(employeeService, never()).getAllEmployees();
+            verify(employeeService, never()).getAllEmployees(any(Pageable.class), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/employees?after=")
+    class GetEmployeesAfterTests {
+
+        @Test
+        @DisplayName("Should return cursor page when after parameter is present")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnCursorPage() throws Exception {
+            EmployeeResponse employee = new EmployeeResponse();
+            employee.setId(1L);
+            employee.setFullName("Anna Nowak");
+
+            CursorPagedResponse<EmployeeResponse> cursorResponse = new CursorPagedResponse<>(
+                    List.of(employee), 1, "next-token", false
+            );
+
+            when(employeeService.getEmployeesAfter(eq(""), eq(1), eq(Sort.Order.asc("fullName")), isNull()))
+                    .thenReturn(cursorResponse);
+
+            mockMvc.perform(get("/api/v1/admin/employees")
+                            .param("after", "")
+                            .param("size", "1")
+                            .param("sortBy", "fullName"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].fullName").value("Anna Nowak"))
+                    .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            verify(employeeService, never()).getAllEmployees(any(Pageable.class), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/employees conditional requests")
+    class ConditionalGetAllEmployeesTests {
+
+        @Test
+        @DisplayName("Should return 304 without loading employees when listing is unchanged")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn304WhenListingUnchanged() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/employees")
+                            .header("If-None-Match", "\"employees-2\""))
+                    .andExpect(status().isNotModified());
+
+            verify(employeeService, never()).getAllEmployees(any(Pageable.class), any());
+        }
+
+        @Test
+        @DisplayName("Should return full listing when ETag is stale")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnListingWhenETagStale() throws Exception {
+            when(employeeService.getAllEmployees(any(Pageable.class), any()))
+                    .thenReturn(new PagedResponse<>(List.of(), 0, 20, 0, 0, true));
+
+            mockMvc.perform(get("/api/v1/admin/employees")
+                            .header("If-None-Match", "\"employees-1\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"employees-2\""))
+                    .andExpect(header().string("Cache-Control", "no-cache, private"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/employees/options")
+    class GetEmployeeOptionsTests {
+
+        @Test
+        @DisplayName("Should return employee options matching prefix")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnEmployeeOptions() throws Exception {
+            when(employeeService.getEmployeeOptions("Jan", 20))
+                    .thenReturn(List.of(new OptionResponse(2L, "Jan Kowalski (jan.kowalski@example.com)")));
+
+            mockMvc.perform(get("/api/v1/admin/employees/options").param("prefix", "Jan"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"employees-2\""))
+                    .andExpect(jsonPath("$[0].id").value(2))
+                    .andExpect(jsonPath("$[0].label").value("Jan Kowalski (jan.kowalski@example.com)"));
+        }
+
+        @Test
+        @DisplayName("Should return 304 without querying when employees are unchanged")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn304WhenEmployeesUnchanged() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/employees/options")
+                            .header("If-None-Match", "\"employees-2\""))
+                    .andExpect(status().isNotModified());
+
+            verify(employeeService, never()).getEmployeeOptions(any(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/employees/search")
+    class SearchEmployeesTests {
+
+        @Test
+        @DisplayName("Should return a slice of matching employees")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnMatchingEmployees() throws Exception {
+            EmployeeResponse employee = new EmployeeResponse(5L, "Łukasz Żółć", "lukasz.zolc@example.com",
+                    Role.EMPLOYEE, LocalDate.of(2024, 3, 1), null);
+            when(employeeService.searchEmployees("lukasz zolc", PageRequest.of(1, 10)))
+                    .thenReturn(new SlicedResponse<>(List.of(employee), 1, 10, false));
+
+            mockMvc.perform(get("/api/v1/admin/employees/search")
+                            .param("q", "lukasz zolc")
+                            .param("page", "1")
+                            .param("size", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].fullName").value("Łukasz Żółć"))
+                    .andExpect(jsonPath("$.page").value(1))
+                    .andExpect(jsonPath("$.hasNext").value(false));
+        }
+
+        @Test
+        @DisplayName("Should return 403 Forbidden for non-admin user")
+        @WithMockUser(roles = "EMPLOYEE")
+        void shouldReturn403ForNonAdmin() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/employees/search").param("q", "jan"))
+                    .andExpect(status().isForbidden());
         }
     }
 
@@ -229,6 +392,20 @@ class EmployeeControllerTest {
             verify(employeeService).getEmployeeById(1L);
         }
 
+        @Test
+        @DisplayName("Should return 304 when employee version is unchanged")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn304WhenEmployeeUnchanged() throws Exception {
+            when(employeeService.getEmployeeVersion(1L)).thenReturn(5L);
+
+            mockMvc.perform(get("/api/v1/admin/employees/1")
+                            .header("If-None-Match", "\"employee-1-5\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"employee-1-5\""));
+
+            verify(employeeService, never()).getEmployeeById(any());
+        }
+
         @Test
         @DisplayName("Should return 404 when employee not found")
         @WithMockUser(roles = "ADMIN")
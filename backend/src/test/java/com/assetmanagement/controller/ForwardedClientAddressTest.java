@@ -0,0 +1,61 @@
+package com.assetmanagement.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the embedded Tomcat, since the forwarded headers are applied by its valve and MockMvc
+ * never sees them.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:forwardedclientaddress;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "auth.rate-limit.ip.capacity=1",
+                "auth.rate-limit.ip.refill-interval=1h"
+        })
+@ActiveProfiles("test")
+class ForwardedClientAddressTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private int refresh(String forwardedFor) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/v1/auth/refresh"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"refreshToken\":\"not-a-token\"}"));
+        if (forwardedFor != null) {
+            request.header("X-Forwarded-For", forwardedFor);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Test
+    @DisplayName("Should throttle clients behind a trusted proxy by their forwarded address")
+    void shouldThrottleByForwardedAddress() throws Exception {
+        assertNotEquals(429, refresh("203.0.113.10"));
+        assertEquals(429, refresh("203.0.113.10"));
+
+        assertNotEquals(429, refresh("203.0.113.11"));
+        assertNotEquals(429, refresh("198.51.100.7, 203.0.113.12"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the connection address without forwarded headers")
+    void shouldUseConnectionAddressWithoutForwardedHeaders() throws Exception {
+        assertNotEquals(429, refresh(null));
+        assertEquals(429, refresh(null));
+    }
+}
@@ -0,0 +1,234 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.exception.ApplicationException;
+import com.assetmanagement.model.AssetType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterQueryTemplateTest {
+
+    private FilterQueryTemplate<AssetFilter> newTemplate() {
+        return new FilterQueryTemplate<AssetFilter>(
+                "SELECT a FROM Asset a", "SELECT COUNT(a) FROM Asset a", "a",
+                new SortRegistry("a.id").key("vendor", "a.vendor"))
+                .predicate(f -> f.isActive() != null, "a.isActive = :isActive",
+                        (f, q) -> q.setParameter("isActive", f.isActive()))
+                .predicate(f -> f.assetType() != null, "a.assetType = :assetType",
+                        (f, q) -> q.setParameter("assetType", f.assetType()))
+                .predicate(f -> Boolean.TRUE.equals(f.isAssigned()), "a.assigned = true");
+    }
+
+    @Nested
+    @DisplayName("Where Clause Tests")
+    class WhereClauseTests {
+
+        @Test
+        @DisplayName("Should render no WHERE clause without filters")
+        void shouldRenderNoWhereClauseWithoutFilters() {
+            FilterQueryTemplate<AssetFilter> template = newTemplate();
+
+            assertEquals("", template.where(template.mask(new AssetFilter(null, null, null))));
+        }
+
+        @Test
+        @DisplayName("Should compose applied predicates in declaration order")
+        void shouldComposeAppliedPredicates() {
+            FilterQueryTemplate<AssetFilter> template = newTemplate();
+
+            String where = template.where(template.mask(new AssetFilter(true, AssetType.LAPTOP, null)));
+
+            assertEquals(" WHERE a.isActive = :isActive AND a.assetType = :assetType", where);
+        }
+
+        @Test
+        @DisplayName("Should reuse one rendered shape for filters differing only in values")
+        void shouldReuseShapeForDifferentValues() {
+            FilterQueryTemplate<AssetFilter> template = newTemplate();
+
+            String laptops = template.where(template.mask(new AssetFilter(true, AssetType.LAPTOP, null)));
+            String tablets = template.where(template.mask(new AssetFilter(false, AssetType.TABLET, null)));
+
+            assertSame(laptops, tablets);
+            assertEquals(1, template.cachedShapes());
+        }
+
+        @Test
+        @DisplayName("Should cache at most one shape per filter combination")
+        void shouldCacheAtMostOneShapePerCombination() {
+            FilterQueryTemplate<AssetFilter> template = newTemplate();
+            Boolean[] flags = {null, true, false};
+            AssetType[] types = {null, AssetType.LAPTOP, AssetType.PRINTER};
+
+            for (int round = 0; round < 2; round++) {
+                for (Boolean isActive : flags) {
+                    for (AssetType assetType : types) {
+                        for (Boolean isAssigned : flags) {
+                            template.where(template.mask(new AssetFilter(isActive, assetType, isAssigned)));
+                        }
+                    }
+                }
+            }
+
+            assertEquals(8, template.cachedShapes());
+        }
+
+        @Test
+        @DisplayName("Asset query should filter unassigned assets on the current assignment column")
+        void assetQueryShouldExpressUnassignedFilter() {
+            FilterQueryTemplate<AssetFilter> query = AssetRepositoryCustomImpl.QUERY;
+
+            String where = query.where(query.mask(new AssetFilter(null, null, false)));
+
+            assertEquals(" WHERE a.currentAssignment IS NULL", where);
+        }
+    }
+
+    @Nested
+    @DisplayName("Option Tests")
+    class OptionTests {
+
+        @Test
+        @DisplayName("Should escape LIKE wildcards in a prefix")
+        void shouldEscapeWildcardsInPrefix() {
+            assertEquals("SN!_1!%!!%", FilterQueryTemplate.startsWith("SN_1%!"));
+        }
+
+        @Test
+        @DisplayName("Should restrict available asset options to active unassigned assets")
+        void shouldRestrictAvailableAssetOptions() {
+            FilterQueryTemplate<AssetOptionFilter> options = AssetRepositoryCustomImpl.OPTIONS;
+
+            String where = options.where(options.mask(new AssetOptionFilter(null, true)));
+
+            assertEquals(" WHERE a.isActive = true AND a.currentAssignment IS NULL", where);
+            assertEquals("", options.where(options.mask(new AssetOptionFilter(null, false))));
+        }
+
+        @Test
+        @DisplayName("Should order asset options along the vendor index")
+        void shouldOrderAssetOptionsByVendor() {
+            assertEquals(" ORDER BY a.vendor ASC, a.id ASC",
+                    AssetRepositoryCustomImpl.OPTIONS.orderBy(AssetRepositoryCustomImpl.OPTION_ORDER));
+        }
+
+        @Test
+        @DisplayName("Should reject a limit below one")
+        void shouldRejectLimitBelowOne() {
+            ApplicationException exception = assertThrows(ApplicationException.class,
+                    () -> newTemplate().findFirst(null, Object.class, new AssetFilter(null, null, null), Sort.unsorted(), 0));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Order By Tests")
+    class OrderByTests {
+
+        @Test
+        @DisplayName("Should render sortable properties")
+        void shouldRenderSortableProperties() {
+            String orderBy = newTemplate().orderBy(Sort.by(Sort.Order.desc("vendor"), Sort.Order.asc("id")));
+
+            assertEquals(" ORDER BY a.vendor DESC, a.id ASC", orderBy);
+        }
+
+        @Test
+        @DisplayName("Should append id tie-breaker in the direction of the last order")
+        void shouldAppendIdTieBreaker() {
+            FilterQueryTemplate<AssetFilter> template = newTemplate();
+
+            assertEquals(" ORDER BY a.vendor ASC, a.id ASC", template.orderBy(Sort.by("vendor")));
+            assertEquals(" ORDER BY a.vendor DESC, a.id DESC", template.orderBy(Sort.by(Sort.Order.desc("vendor"))));
+        }
+
+        @Test
+        @DisplayName("Should order unsorted requests by id")
+        void shouldOrderUnsortedById() {
+            assertEquals(" ORDER BY a.id ASC", newTemplate().orderBy(Sort.unsorted()));
+        }
+
+        @Test
+        @DisplayName("Should reject sorting assets by holder name, which the employee join cannot serve from an index")
+        void shouldRejectHolderNameSort() {
+            ApplicationException exception = assertThrows(ApplicationException.class,
+                    () -> AssetRepositoryCustomImpl.QUERY.orderBy(Sort.by(Sort.Order.desc("holderName"))));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject properties outside the sortable set")
+        void shouldRejectUnknownProperty() {
+            ApplicationException exception = assertThrows(ApplicationException.class,
+                    () -> newTemplate().orderBy(Sort.by("password")));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Keyset Tests")
+    class KeysetTests {
+
+        @Test
+        @DisplayName("Should seek on sort key with id tie-breaker")
+        void shouldSeekOnSortKeyWithIdTieBreaker() {
+            FilterQueryTemplate<AssetFilter> template = newTemplate();
+
+            assertEquals("a.vendor >= :afterKey AND (a.vendor > :afterKey OR a.id > :afterId)",
+                    template.seekPredicate(Sort.Order.asc("vendor")));
+            assertEquals(" ORDER BY a.vendor ASC, a.id ASC", template.seekOrderBy(Sort.Order.asc("vendor")));
+        }
+
+        @Test
+        @DisplayName("Should seek on id alone when sorting by id descending")
+        void shouldSeekOnIdAlone() {
+            FilterQueryTemplate<AssetFilter> template = newTemplate();
+
+            assertEquals("a.id < :afterId", template.seekPredicate(Sort.Order.desc("id")));
+            assertEquals(" ORDER BY a.id DESC", template.seekOrderBy(Sort.Order.desc("id")));
+        }
+
+        @Test
+        @DisplayName("Should round-trip cursor through its token")
+        void shouldRoundTripCursor() {
+            KeysetCursor cursor = new KeysetCursor("vendor", Sort.Direction.DESC, 42L, "Dell\nLatitude");
+
+            KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+            assertEquals(cursor, decoded);
+            assertTrue(decoded.matches(Sort.Order.desc("vendor")));
+            assertFalse(decoded.matches(Sort.Order.asc("vendor")));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            ApplicationException exception = assertThrows(ApplicationException.class,
+                    () -> KeysetCursor.decode("not a cursor"));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject cursor whose sort key does not parse")
+        void shouldRejectCursorWithUnparsableKey() {
+            KeysetCursor cursor = KeysetCursor.decode(
+                    new KeysetCursor("assignedFrom", Sort.Direction.ASC, 7L, "not-a-date").encode());
+            KeysetKey<Object> dateKey = new KeysetKey<>(row -> row, LocalDate::parse);
+
+            ApplicationException exception = assertThrows(ApplicationException.class, () -> cursor.key(dateKey));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+            assertEquals("Nieprawidłowy kursor", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.assetmanagement.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListingCountCacheTest {
+
+    private final AtomicInteger counterCalls = new AtomicInteger();
+
+    private long countRows() {
+        counterCalls.incrementAndGet();
+        return 42;
+    }
+
+    @Test
+    @DisplayName("Should count once per filter within TTL")
+    void shouldCountOncePerFilterWithinTtl() {
+        ListingCountCache cache = new ListingCountCache(Duration.ofMinutes(1));
+
+        assertEquals(42, cache.count(new AssetFilter(true, null, null), this::countRows));
+        assertEquals(42, cache.count(new AssetFilter(true, null, null), this::countRows));
+        cache.count(new AssetFilter(false, null, null), this::countRows);
+
+        assertEquals(2, counterCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should recount after TTL expires")
+    void shouldRecountAfterTtlExpires() {
+        ListingCountCache cache = new ListingCountCache(Duration.ZERO);
+
+        cache.count(new AssetFilter(null, null, null), this::countRows);
+        cache.count(new AssetFilter(null, null, null), this::countRows);
+
+        assertEquals(2, counterCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should recount after invalidation")
+    void shouldRecountAfterInvalidation() {
+        ListingCountCache cache = new ListingCountCache(Duration.ofMinutes(1));
+
+        cache.count(new AssignmentFilter(true, 1L, null), this::countRows);
+        cache.invalidateAfterCommit();
+        cache.count(new AssignmentFilter(true, 1L, null), this::countRows);
+
+        assertEquals(2, counterCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a count computed across an invalidation")
+    void shouldNotCacheCountComputedAcrossInvalidation() {
+        ListingCountCache cache = new ListingCountCache(Duration.ofMinutes(1));
+        AssetFilter filter = new AssetFilter(null, null, true);
+
+        cache.count(filter, () -> {
+            cache.invalidate();
+            return 7;
+        });
+
+        assertEquals(42, cache.count(filter, this::countRows));
+        assertEquals(1, counterCalls.get());
+    }
+}
@@ -0,0 +1,37 @@
+package com.assetmanagement.repository;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the plan regression queries through the MySQL dialect against a scratch MySQL database, failing on
+ * full scans and filesorts. The schema is recreated, so point QUERY_PLAN_MYSQL_URL at a disposable database.
+ */
+@EnabledIfEnvironmentVariable(named = "QUERY_PLAN_MYSQL_URL", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${QUERY_PLAN_MYSQL_URL}",
+        "spring.datasource.username=${QUERY_PLAN_MYSQL_USERNAME:root}",
+        "spring.datasource.password=${QUERY_PLAN_MYSQL_PASSWORD:root}",
+        "spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+class MySqlQueryPlanRegressionTest extends QueryPlanRegressionTest {
+
+    @Override
+    protected List<String> planViolations(ResultSet plan) throws SQLException {
+        List<String> violations = new ArrayList<>();
+        while (plan.next()) {
+            String type = plan.getString("type");
+            String extra = plan.getString("Extra");
+            if ("ALL".equals(type) || (extra != null && extra.contains("Using filesort"))) {
+                violations.add(plan.getString("table") + ": type=" + type + ", Extra=" + extra);
+            }
+        }
+        return violations;
+    }
+}
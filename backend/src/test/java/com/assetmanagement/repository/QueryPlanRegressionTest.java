@@ -0,0 +1,283 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.exception.ApplicationException;
+import com.assetmanagement.model.Asset;
+import com.assetmanagement.model.AssetType;
+import com.assetmanagement.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every selective repository query, captures the SQL Hibernate sends together with its bind values
+ * and fails when EXPLAIN reports a full table scan. Unfiltered listings read whole tables by design and
+ * are not covered. {@link MySqlQueryPlanRegressionTest} repeats the check against a real MySQL server.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@Import(QueryPlanRegressionTest.RecordingConfiguration.class)
+class QueryPlanRegressionTest {
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    protected List<String> planViolations(ResultSet plan) throws SQLException {
+        List<String> violations = new ArrayList<>();
+        while (plan.next()) {
+            String text = plan.getString(1);
+            if (text.contains("tableScan")) {
+                violations.add(text);
+            }
+        }
+        return violations;
+    }
+
+    private Map<String, Runnable> repositoryQueries() {
+        Employee employee = employeeRepository.findById(2L).orElseThrow();
+        Asset asset = assetRepository.findById(1L).orElseThrow();
+        String vendorCursor = assetRepository.findAssetsAfter(
+                new AssetFilter(null, null, null), Sort.Order.asc("vendor"), "", 1).getNextCursor();
+        String fullNameCursor = employeeRepository.findEmployeesAfter(
+                new EmployeeFilter(null), Sort.Order.asc("fullName"), "", 1).getNextCursor();
+        String assignmentCursor = assignmentRepository.findAssignmentsAfter(
+                new AssignmentFilter(null, 2L, null), Sort.Order.asc("id"), "", 1).getNextCursor();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("AssetRepository.findById", () -> assetRepository.findById(1L));
+        queries.put("AssetRepository.findBySeriesNumber", () -> assetRepository.findBySeriesNumber("SN-LAPTOP-001"));
+        queries.put("AssetRepository.existsBySeriesNumber", () -> assetRepository.existsBySeriesNumber("SN-LAPTOP-001"));
+        queries.put("AssetRepository.findAssets(isActive, assetType)", () -> assetRepository.findAssets(
+                new AssetFilter(true, AssetType.LAPTOP, null), PageRequest.of(0, 1, Sort.by("id"))));
+        queries.put("AssetRepository.findAssets(assetType)", () -> assetRepository.findAssets(
+                new AssetFilter(null, AssetType.TABLET, null), PageRequest.of(0, 1, Sort.by("id"))));
+        queries.put("AssetRepository.findAssets(isAssigned=false)", () -> assetRepository.findAssets(
+                new AssetFilter(null, null, false), PageRequest.of(0, 1)));
+        queries.put("AssetRepository.findAssetSlice(isActive, assetType)", () -> assetRepository.findAssetSlice(
+                new AssetFilter(false, AssetType.HEADPHONES, null), PageRequest.of(0, 20, Sort.by("id"))));
+        queries.put("AssetRepository.findAssetsAfter(vendor)", () -> assetRepository.findAssetsAfter(
+                new AssetFilter(null, null, null), Sort.Order.asc("vendor"), vendorCursor, 1));
+        queries.put("AssetRepository.findAssetOptions(prefix)", () -> assetRepository.findAssetOptions(
+                new AssetOptionFilter("Dell", false), 20));
+        queries.put("AssetRepository.findAssetOptions(availableOnly)", () -> assetRepository.findAssetOptions(
+                new AssetOptionFilter(null, true), 20));
+        queries.put("AssignmentRepository.findById", () -> assignmentRepository.findById(1L));
+        queries.put("AssignmentRepository.findByEmployee", () -> assignmentRepository.findByEmployee(employee));
+        queries.put("AssignmentRepository.findByAsset", () -> assignmentRepository.findByAsset(asset));
+        queries.put("AssignmentRepository.findActiveByEmployeeId", () -> assignmentRepository.findActiveByEmployeeId(2L));
+        queries.put("AssignmentRepository.findActiveAssetResponsesByEmployeeId",
+                () -> assignmentRepository.findActiveAssetResponsesByEmployeeId(2L));
+        queries.put("AssignmentRepository.findResponsesByEmployeeId", () -> assignmentRepository.findResponsesByEmployeeId(2L));
+        queries.put("AssignmentRepository.findAssignments(employeeId)", () -> assignmentRepository.findAssignments(
+                new AssignmentFilter(null, 2L, null), PageRequest.of(0, 1, Sort.by("id"))));
+        queries.put("AssignmentRepository.findAssignments(assetId, isActive)", () -> assignmentRepository.findAssignments(
+                new AssignmentFilter(true, null, 1L), PageRequest.of(0, 1, Sort.by("id"))));
+        queries.put("AssignmentRepository.findAssignments(isActive)", () -> assignmentRepository.findAssignments(
+                new AssignmentFilter(true, null, null), PageRequest.of(0, 1, Sort.by("id"))));
+        queries.put("AssignmentRepository.findAssignmentsAfter(employeeId)", () -> assignmentRepository.findAssignmentsAfter(
+                new AssignmentFilter(null, 2L, null), Sort.Order.asc("id"), assignmentCursor, 1));
+        queries.put("AssignmentRepository.streamResponsesByEmployeeId", () -> readOnly.executeWithoutResult(status -> {
+            try (Stream<AssignmentResponse> responses = assignmentRepository.streamResponsesByEmployeeId(2L)) {
+                responses.forEach(response -> { });
+            }
+        }));
+        queries.put("EmployeeRepository.findById", () -> employeeRepository.findById(2L));
+        queries.put("EmployeeRepository.findByEmail", () -> employeeRepository.findByEmail("jan.kowalski@example.com"));
+        queries.put("EmployeeRepository.existsByEmail", () -> employeeRepository.existsByEmail("jan.kowalski@example.com"));
+        // isCurrent=true matches nearly every row, so like the unfiltered listing it is left out.
+        queries.put("EmployeeRepository.findEmployees(isCurrent=false)", () -> employeeRepository.findEmployees(
+                new EmployeeFilter(false), PageRequest.of(0, 1, Sort.by("hiredUntil"))));
+        queries.put("EmployeeRepository.findEmployeesAfter(fullName)", () -> employeeRepository.findEmployeesAfter(
+                new EmployeeFilter(null), Sort.Order.asc("fullName"), fullNameCursor, 1));
+        queries.put("EmployeeRepository.findEmployeeOptions(prefix)", () -> employeeRepository.findEmployeeOptions("Jan", 20));
+        return queries;
+    }
+
+    private List<String> explain(RecordedQuery query) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+            for (Map.Entry<Integer, Object> parameter : query.parameters().entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                return planViolations(plan);
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    @Test
+    @DisplayName("Selective repository queries should not fall back to full scans")
+    void selectiveQueriesShouldUseIndexes() {
+        List<Executable> checks = new ArrayList<>();
+
+        repositoryQueries().forEach((name, query) -> {
+            // Plans are only checked on a second-level cache miss.
+            entityManagerFactory.getCache().evictAll();
+            queryRecorder.clear();
+            query.run();
+            List<RecordedQuery> recorded = queryRecorder.snapshot();
+
+            checks.add(() -> assertFalse(recorded.isEmpty(), name + " issued no query"));
+            for (RecordedQuery statement : recorded) {
+                checks.add(() -> {
+                    List<String> violations = explain(statement);
+                    assertTrue(violations.isEmpty(), name + " plan regressed:\n" + statement.sql() + "\n" + violations);
+                });
+            }
+        });
+
+        assertAll(checks);
+    }
+
+    @Test
+    @DisplayName("Listings should refuse sort keys no index can serve")
+    void unindexedSortsShouldBeRejected() {
+        ApplicationException exception = assertThrows(ApplicationException.class, () -> assetRepository.findAssets(
+                new AssetFilter(null, null, null), PageRequest.of(0, 1, Sort.by("holderName"))));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+    }
+
+    record RecordedQuery(String sql, SortedMap<Integer, Object> parameters) {
+    }
+
+    static class QueryRecorder implements BeanPostProcessor {
+
+        private final List<RecordedQuery> queries = new ArrayList<>();
+
+        synchronized void clear() {
+            queries.clear();
+        }
+
+        synchronized List<RecordedQuery> snapshot() {
+            return List.copyOf(queries);
+        }
+
+        private synchronized void record(String sql, SortedMap<Integer, Object> parameters) {
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                queries.add(new RecordedQuery(sql, new TreeMap<>(parameters)));
+            }
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection ? recordingConnection(connection) : result;
+                });
+            }
+            return bean;
+        }
+
+        private Connection recordingConnection(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof PreparedStatement statement && args != null && args[0] instanceof String sql) {
+                    return recordingStatement(statement, sql);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+            SortedMap<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.equals("executeQuery")) {
+                    record(sql, parameters);
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, TargetInvocationHandler<T> handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+        }
+
+        @FunctionalInterface
+        private interface TargetInvocationHandler<T> {
+            Object invoke(T target, Method method, Object[] args) throws Throwable;
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConfiguration {
+
+        @Bean
+        static QueryRecorder queryRecorder() {
+            return new QueryRecorder();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.assetmanagement.repository;
+
+import com.assetmanagement.model.Asset;
+import com.assetmanagement.model.AssetType;
+import com.assetmanagement.model.Employee;
+import com.assetmanagement.model.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:secondlevelcache;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Employee employee;
+    private Asset asset;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        Employee newEmployee = new Employee();
+        newEmployee.setFullName("Cache Holder");
+        newEmployee.setEmail("cache-" + suffix + "@example.com");
+        newEmployee.setPassword("encodedPassword");
+        newEmployee.setRole(Role.EMPLOYEE);
+        newEmployee.setHiredFrom(LocalDate.of(2024, 1, 1));
+        employee = employeeRepository.save(newEmployee);
+
+        Asset newAsset = new Asset();
+        newAsset.setAssetType(AssetType.LAPTOP);
+        newAsset.setVendor("Dell");
+        newAsset.setModel("Latitude 7440");
+        newAsset.setSeriesNumber("SN-CACHE-" + suffix);
+        asset = assetRepository.save(newAsset);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Should serve repeat employee lookups from the second-level cache")
+    void shouldServeRepeatEmployeeLookupsFromCache() {
+        assertTrue(countStatements(() -> employeeRepository.findById(employee.getId()).orElseThrow()) > 0);
+        assertEquals(0, countStatements(() -> employeeRepository.findById(employee.getId()).orElseThrow()));
+        assertEquals(0, countStatements(() -> employeeRepository.findByEmail(employee.getEmail()).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should serve repeat asset lookups by series number from the natural id cache")
+    void shouldServeRepeatAssetLookupsFromNaturalIdCache() {
+        assertTrue(countStatements(() -> assetRepository.findBySeriesNumber(asset.getSeriesNumber()).orElseThrow()) > 0);
+        assertEquals(0, countStatements(() -> assetRepository.findBySeriesNumber(asset.getSeriesNumber()).orElseThrow()));
+        assertEquals(0, countStatements(() -> assetRepository.findById(asset.getId()).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should return committed changes instead of the cached entity")
+    void shouldReturnCommittedChanges() {
+        Employee cached = employeeRepository.findByEmail(employee.getEmail()).orElseThrow();
+        cached.setFullName("Renamed Holder");
+        employeeRepository.save(cached);
+
+        long statements = countStatements(() -> assertEquals("Renamed Holder",
+                employeeRepository.findByEmail(employee.getEmail()).orElseThrow().getFullName()));
+
+        assertEquals(0, statements);
+    }
+
+    @Test
+    @DisplayName("Should report unknown natural ids without caching them")
+    void shouldReportUnknownNaturalIds() {
+        assertTrue(employeeRepository.findByEmail("missing@example.com").isEmpty());
+        assertTrue(assetRepository.findBySeriesNumber("SN-MISSING").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should export cache hits and misses as meters")
+    void shouldExportCacheMeters() {
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findById(employee.getId());
+
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", "employees").tag("result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", "employees").tag("result", "miss").functionCounter());
+    }
+}
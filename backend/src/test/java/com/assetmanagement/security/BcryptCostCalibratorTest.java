@@ -0,0 +1,26 @@
+package com.assetmanagement.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BcryptCostCalibratorTest {
+
+    @Test
+    @DisplayName("Should keep the floor cost when the budget is exceeded")
+    void shouldKeepFloorCostWhenBudgetExceeded() {
+        assertEquals(4, BcryptCostCalibrator.calibrate(Duration.ZERO, 4));
+    }
+
+    @Test
+    @DisplayName("Should raise the cost while hashes fit the budget")
+    void shouldRaiseCostWithinBudget() {
+        int strength = BcryptCostCalibrator.calibrate(Duration.ofMillis(50), 4);
+
+        assertTrue(strength > 4, "Calibrated cost " + strength);
+        assertTrue(strength <= BcryptCostCalibrator.MAX_STRENGTH);
+    }
+}
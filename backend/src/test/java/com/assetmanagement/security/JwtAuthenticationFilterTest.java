@@ -0,0 +1,86 @@
+package com.assetmanagement.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "jan.kowalski@example.com";
+
+    private final TokenVersionCache tokenVersionCache = mock(TokenVersionCache.class);
+    private final FilterChain filterChain = mock(FilterChain.class);
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+
+    private static SigningKeyRing keyRing(String secret) {
+        return new SigningKeyRing(new JwtKeyProperties(secret, "primary", List.of()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(keyRing("verysecretkeythatisatleast256bitslong1234567890"), 3600000L, 1209600000L);
+        filter = new JwtAuthenticationFilter(jwtUtil, tokenVersionCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should authenticate from token claims")
+    void shouldAuthenticateFromClaims() throws Exception {
+        when(tokenVersionCache.isCurrent(EMAIL, 2)).thenReturn(true);
+
+        filter.doFilter(requestWithToken(jwtUtil.generateToken(EMAIL, "EMPLOYEE", 2)),
+                new MockHttpServletResponse(), filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(EMAIL, authentication.getName());
+        assertEquals("ROLE_EMPLOYEE", authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate revoked token")
+    void shouldNotAuthenticateRevokedToken() throws Exception {
+        when(tokenVersionCache.isCurrent(EMAIL, 0)).thenReturn(false);
+
+        filter.doFilter(requestWithToken(jwtUtil.generateToken(EMAIL, "ADMIN", 0)),
+                new MockHttpServletResponse(), filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed token")
+    void shouldIgnoreMalformedToken() throws Exception {
+        filter.doFilter(requestWithToken("not-a-jwt"), new MockHttpServletResponse(), filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(tokenVersionCache);
+        verify(filterChain).doFilter(any(), any());
+    }
+}
@@ -4,15 +4,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import io.jsonwebtoken.ExpiredJwtException;
 
-import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,12 +17,15 @@ class JwtUtilTest {
     private JwtUtil jwtUtil;
     private static final String SECRET = "verysecretkeythatisatleast256bitslong1234567890";
     private static final Long EXPIRATION = 3600000L; // 1 hour
+    private static final long REFRESH_EXPIRATION = 1209600000L; // 14 days
+
+    private static SigningKeyRing keyRing(String secret) {
+        return new SigningKeyRing(new JwtKeyProperties(secret, "primary", List.of()));
+    }
 
     @BeforeEach
     void setUp() {
-        jwtUtil = new JwtUtil();
-        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
-        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        jwtUtil = new JwtUtil(keyRing(SECRET), EXPIRATION, REFRESH_EXPIRATION);
     }
 
     @Nested
@@ -39,10 +38,10 @@ class JwtUtilTest {
             String email = "test@example.com";
             String role = "ADMIN";
 
-            String token = jwtUtil.generateToken(email, role);
+            String token = jwtUtil.generateToken(email, role, 0);
 
             assertNotNull(token);
-            assertEquals(email, jwtUtil.extractUsername(token));
+            assertEquals(email, jwtUtil.verify(token).subject());
         }
 
         @Test
@@ -51,16 +50,16 @@ class JwtUtilTest {
             String email = "test@example.com";
             String role = "EMPLOYEE";
 
-            String token = jwtUtil.generateToken(email, role);
+            String token = jwtUtil.generateToken(email, role, 0);
 
-            assertEquals(role, jwtUtil.extractRole(token));
+            assertEquals(role, jwtUtil.verify(token).role());
         }
 
         @Test
         @DisplayName("Should generate different tokens for different users")
         void shouldGenerateDifferentTokensForDifferentUsers() {
-            String token1 = jwtUtil.generateToken("user1@example.com", "ADMIN");
-            String token2 = jwtUtil.generateToken("user2@example.com", "EMPLOYEE");
+            String token1 = jwtUtil.generateToken("user1@example.com", "ADMIN", 0);
+            String token2 = jwtUtil.generateToken("user2@example.com", "EMPLOYEE", 0);
 
             assertNotEquals(token1, token2);
         }
@@ -74,9 +73,9 @@ class JwtUtilTest {
         @DisplayName("Should extract username from token")
         void shouldExtractUsername() {
             String email = "admin@company.com";
-            String token = jwtUtil.generateToken(email, "ADMIN");
+            String token = jwtUtil.generateToken(email, "ADMIN", 0);
 
-            String extractedUsername = jwtUtil.extractUsername(token);
+            String extractedUsername = jwtUtil.verify(token).subject();
 
             assertEquals(email, extractedUsername);
         }
@@ -85,19 +84,27 @@ class JwtUtilTest {
         @DisplayName("Should extract role from token")
         void shouldExtractRole() {
             String role = "ADMIN";
-            String token = jwtUtil.generateToken("test@example.com", role);
+            String token = jwtUtil.generateToken("test@example.com", role, 0);
 
-            String extractedRole = jwtUtil.extractRole(token);
+            String extractedRole = jwtUtil.verify(token).role();
 
             assertEquals(role, extractedRole);
         }
 
+        @Test
+        @DisplayName("Should extract token version from token")
+        void shouldExtractTokenVersion() {
+            String token = jwtUtil.generateToken("test@example.com", "ADMIN", 3);
+
+            assertEquals(3, jwtUtil.verify(token).tokenVersion());
+        }
+
         @Test
         @DisplayName("Should extract expiration date from token")
         void shouldExtractExpiration() {
-            String token = jwtUtil.generateToken("test@example.com", "ADMIN");
+            String token = jwtUtil.generateToken("test@example.com", "ADMIN", 0);
 
-            Date expiration = jwtUtil.extractExpiration(token);
+            Date expiration = jwtUtil.verify(token).expiration();
 
             assertNotNull(expiration);
             assertTrue(expiration.after(new Date()));
@@ -105,45 +112,82 @@ class JwtUtilTest {
     }
 
     @Nested
-    @DisplayName("Token Validation Tests")
-    class ValidateTokenTests {
+    @DisplayName("Verified Token Tests")
+    class VerifiedTokenTests {
 
         @Test
-        @DisplayName("Should validate token for correct user")
-        void shouldValidateTokenForCorrectUser() {
-            String email = "test@example.com";
-            String token = jwtUtil.generateToken(email, "ADMIN");
-            UserDetails userDetails = new User(email, "password",
-                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        @DisplayName("Should throw ExpiredJwtException for expired token")
+        void shouldThrowExceptionForExpiredToken() {
+            JwtUtil expiredJwtUtil = new JwtUtil(keyRing(SECRET), -1000L, REFRESH_EXPIRATION); // Already expired
+
+            String token = expiredJwtUtil.generateToken("test@example.com", "ADMIN", 0);
 
-            assertTrue(jwtUtil.validateToken(token, userDetails));
+            // The exception is caught in JwtAuthenticationFilter
+            assertThrows(ExpiredJwtException.class, () -> expiredJwtUtil.verify(token));
         }
 
         @Test
-        @DisplayName("Should not validate token for different user")
-        void shouldNotValidateTokenForDifferentUser() {
-            String token = jwtUtil.generateToken("user1@example.com", "ADMIN");
-            UserDetails userDetails = new User("user2@example.com", "password",
-                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        @DisplayName("Should verify token into its claims")
+        void shouldVerifyTokenIntoClaims() {
+            String token = jwtUtil.generateToken("test@example.com", "EMPLOYEE", 2);
 
-            assertFalse(jwtUtil.validateToken(token, userDetails));
+            VerifiedToken verified = jwtUtil.verify(token);
+
+            assertEquals("test@example.com", verified.subject());
+            assertEquals("EMPLOYEE", verified.role());
+            assertEquals(2, verified.tokenVersion());
         }
 
         @Test
-        @DisplayName("Should throw ExpiredJwtException for expired token")
-        void shouldThrowExceptionForExpiredToken() {
-            JwtUtil expiredJwtUtil = new JwtUtil();
-            ReflectionTestUtils.setField(expiredJwtUtil, "secret", SECRET);
-            ReflectionTestUtils.setField(expiredJwtUtil, "expiration", -1000L); // Already expired
+        @DisplayName("Should reuse verification of a repeated token")
+        void shouldReuseVerificationOfRepeatedToken() {
+            String token = jwtUtil.generateToken("test@example.com", "ADMIN", 0);
+
+            assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+        }
+
+        @Test
+        @DisplayName("Should reject token signed with another key")
+        void shouldRejectTokenSignedWithAnotherKey() {
+            String token = new JwtUtil(keyRing("anothersecretkeythatisatleast256bitslong123456"),
+                    EXPIRATION, REFRESH_EXPIRATION)
+                    .generateToken("test@example.com", "ADMIN", 0);
+
+            assertThrows(Exception.class, () -> jwtUtil.verify(token));
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh Token Tests")
+    class RefreshTokenTests {
+
+        @Test
+        @DisplayName("Should issue refresh token with unique id and version")
+        void shouldIssueRefreshToken() {
+            String first = jwtUtil.generateRefreshToken("test@example.com", 4);
+            String second = jwtUtil.generateRefreshToken("test@example.com", 4);
 
-            String token = expiredJwtUtil.generateToken("test@example.com", "ADMIN");
-            UserDetails userDetails = new User("test@example.com", "password",
-                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")));
+            RefreshToken refreshToken = jwtUtil.verifyRefreshToken(first);
+
+            assertEquals("test@example.com", refreshToken.subject());
+            assertEquals(4, refreshToken.tokenVersion());
+            assertNotEquals(refreshToken.jti(), jwtUtil.verifyRefreshToken(second).jti());
+        }
+
+        @Test
+        @DisplayName("Should not accept access token as refresh token")
+        void shouldRejectAccessTokenAsRefreshToken() {
+            String accessToken = jwtUtil.generateToken("test@example.com", "ADMIN", 0);
+
+            assertThrows(Exception.class, () -> jwtUtil.verifyRefreshToken(accessToken));
+        }
+
+        @Test
+        @DisplayName("Refresh token should carry no role")
+        void refreshTokenShouldCarryNoRole() {
+            VerifiedToken verified = jwtUtil.verify(jwtUtil.generateRefreshToken("test@example.com", 0));
 
-            // JJWT throws ExpiredJwtException during token parsing, before validateToken can return false
-            // This is expected behavior - the exception is caught in JwtAuthenticationFilter
-            assertThrows(ExpiredJwtException.class,
-                    () -> expiredJwtUtil.validateToken(token, userDetails));
+            assertNull(verified.role());
         }
     }
 
@@ -154,7 +198,7 @@ class JwtUtilTest {
         @Test
         @DisplayName("Generated token should have three parts separated by dots")
         void tokenShouldHaveThreeParts() {
-            String token = jwtUtil.generateToken("test@example.com", "ADMIN");
+            String token = jwtUtil.generateToken("test@example.com", "ADMIN", 0);
 
             String[] parts = token.split("\\.");
             assertEquals(3, parts.length, "JWT should have header, payload, and signature");
@@ -163,13 +207,13 @@ class JwtUtilTest {
         @Test
         @DisplayName("Should throw exception for invalid token")
         void shouldThrowExceptionForInvalidToken() {
-            assertThrows(Exception.class, () -> jwtUtil.extractUsername("invalid.token.here"));
+            assertThrows(Exception.class, () -> jwtUtil.verify("invalid.token.here"));
         }
 
         @Test
         @DisplayName("Should throw exception for malformed token")
         void shouldThrowExceptionForMalformedToken() {
-            assertThrows(Exception.class, () -> jwtUtil.extractUsername("not-a-jwt"));
+            assertThrows(Exception.class, () -> jwtUtil.verify("not-a-jwt"));
         }
     }
 }
@@ -0,0 +1,65 @@
+package com.assetmanagement.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single-threaded throughput of the request authentication path, i.e. tokens per second per core.
+ * The baseline replays the former path: three verifications per request, each rebuilding the key and parser.
+ */
+@Tag("benchmark")
+class JwtVerificationBenchmarkTest {
+
+    private static final String SECRET = "verysecretkeythatisatleast256bitslong1234567890";
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 50_000;
+
+    private final JwtUtil jwtUtil = new JwtUtil(keyRing(SECRET), 3600000L, 1209600000L);
+    private final String token = jwtUtil.generateToken("jan.kowalski@example.com", "EMPLOYEE", 0);
+
+    private static SigningKeyRing keyRing(String secret) {
+        return new SigningKeyRing(new JwtKeyProperties(secret, "primary", List.of()));
+    }
+
+    private static void verifyRebuildingParser(String token) {
+        for (int i = 0; i < 3; i++) {
+            Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        }
+    }
+
+    private double tokensPerSecond(Consumer<String> verification) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            verification.accept(token);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            verification.accept(token);
+        }
+        return MEASURED_ITERATIONS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    @Test
+    @DisplayName("Verifying once with the prebuilt parser should outpace the former path")
+    void verifyOnceShouldOutpaceFormerPath() {
+        double before = tokensPerSecond(JwtVerificationBenchmarkTest::verifyRebuildingParser);
+        double parsed = tokensPerSecond(jwtUtil::extractAllClaims);
+        double cached = tokensPerSecond(jwtUtil::verify);
+
+        assertTrue(parsed > before, "Prebuilt parser " + parsed + "/s, former path " + before + "/s");
+        assertTrue(cached > parsed, "Verified cache " + cached + "/s, prebuilt parser " + parsed + "/s");
+    }
+}
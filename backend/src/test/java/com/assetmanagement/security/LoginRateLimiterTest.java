@@ -0,0 +1,30 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.exception.RetryLaterException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final LoginRateLimiter limiter = new LoginRateLimiter(4, 3, Duration.ofHours(1), 1, Duration.ofHours(1));
+
+    @Test
+    @DisplayName("Should not spend the IP budget on requests rejected for their account")
+    void shouldNotDrainIpBudgetOnEmailRejection() {
+        limiter.acquire("10.0.0.1", "victim@example.com");
+        for (int i = 0; i < 5; i++) {
+            RetryLaterException exception = assertThrows(RetryLaterException.class,
+                    () -> limiter.acquire("10.0.0.1", "Victim@example.com "));
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getHttpStatus());
+        }
+
+        limiter.acquire("10.0.0.1", "colleague@example.com");
+        limiter.acquire("10.0.0.1", null);
+        assertThrows(RetryLaterException.class, () -> limiter.acquire("10.0.0.1", null));
+    }
+}
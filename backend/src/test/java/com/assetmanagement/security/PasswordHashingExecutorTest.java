@@ -0,0 +1,77 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.exception.RetryLaterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor executor =
+            new PasswordHashingExecutor(meterRegistry, 1, 1, Duration.ofSeconds(2));
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify passwords on the pool")
+    void shouldHashAndVerifyOnPool() {
+        PasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), executor);
+
+        String encoded = encoder.encode("password123");
+
+        assertTrue(encoder.matches("password123", encoded));
+        assertFalse(encoder.matches("wrongpassword", encoded));
+        assertEquals(1, meterRegistry.get("auth.hashing.latency").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("auth.hashing.latency").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 and Retry-After when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocking = CompletableFuture.supplyAsync(() -> executor.matches(() -> {
+            running.countDown();
+            awaitQuietly(release);
+            return true;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.matches(() -> true));
+        while (meterRegistry.get("auth.hashing.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        RetryLaterException exception = assertThrows(RetryLaterException.class, () -> executor.matches(() -> true));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        assertEquals(1, meterRegistry.get("auth.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(blocking.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
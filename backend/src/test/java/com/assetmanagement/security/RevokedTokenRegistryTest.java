@@ -0,0 +1,60 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RevokedTokenRegistryTest {
+
+    private static final Instant EXPIRES_AT = Instant.parse("2030-01-01T00:00:00Z");
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final RevokedTokenRegistry registry = new RevokedTokenRegistry(revokedTokenRepository, 0.01);
+
+    @Test
+    @DisplayName("Should answer unknown ids without querying the table")
+    void shouldSkipTableForUnknownIds() {
+        assertFalse(registry.isRevoked("jti-1"));
+
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should confirm revoked ids against the table")
+    void shouldConfirmRevokedIds() {
+        when(revokedTokenRepository.existsById("jti-1")).thenReturn(true);
+
+        assertTrue(registry.revoke("jti-1", EXPIRES_AT));
+        assertTrue(registry.isRevoked("jti-1"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to revoke the same id twice")
+    void shouldRefuseDuplicateRevocation() {
+        doNothing().doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(revokedTokenRepository).insert("jti-1", EXPIRES_AT);
+
+        assertTrue(registry.revoke("jti-1", EXPIRES_AT));
+        assertFalse(registry.revoke("jti-1", EXPIRES_AT));
+    }
+
+    @Test
+    @DisplayName("Should load revoked ids on rebuild")
+    void shouldLoadRevokedIdsOnRebuild() {
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of("jti-1"));
+        when(revokedTokenRepository.existsById("jti-1")).thenReturn(true);
+
+        registry.rebuild();
+
+        assertTrue(registry.isRevoked("jti-1"));
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+}
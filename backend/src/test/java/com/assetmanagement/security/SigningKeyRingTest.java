@@ -0,0 +1,108 @@
+package com.assetmanagement.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningKeyRingTest {
+
+    private static final String OLD_SECRET = "verysecretkeythatisatleast256bitslong1234567890";
+    private static final String NEW_SECRET = "anothersecretkeythatisatleast256bitslong123456";
+    private static final Instant RETIRE_AT = Instant.parse("2026-11-01T00:00:00Z");
+
+    private final MutableClock clock = new MutableClock(RETIRE_AT.minusSeconds(3600));
+
+    private SigningKeyRing rotatedRing() {
+        return new SigningKeyRing(new JwtKeyProperties(NEW_SECRET, "k2",
+                List.of(new JwtKeyProperties.PreviousKey("primary", OLD_SECRET, RETIRE_AT))), clock);
+    }
+
+    @Test
+    @DisplayName("Should sign new tokens with the active key id")
+    void shouldSignWithActiveKeyId() {
+        JwtUtil jwtUtil = new JwtUtil(rotatedRing(), 3600000L, 1209600000L);
+
+        VerifiedToken verified = jwtUtil.verify(jwtUtil.generateToken("jan.kowalski@example.com", "EMPLOYEE", 0));
+
+        assertEquals("k2", verified.keyId());
+    }
+
+    @Test
+    @DisplayName("Should keep verifying tokens of a previous key until it retires")
+    void shouldVerifyPreviousKeyUntilRetired() {
+        SigningKeyRing oldRing = new SigningKeyRing(new JwtKeyProperties(OLD_SECRET, "primary", List.of()));
+        String oldToken = new JwtUtil(oldRing, 3600000L, 1209600000L)
+                .generateToken("jan.kowalski@example.com", "EMPLOYEE", 0);
+        SigningKeyRing ring = rotatedRing();
+        JwtUtil jwtUtil = new JwtUtil(ring, 3600000L, 1209600000L);
+
+        assertEquals("primary", jwtUtil.verify(oldToken).keyId());
+
+        clock.instant = RETIRE_AT;
+        ring.retireExpiredKeys();
+
+        assertNull(ring.verificationKey("primary"));
+        assertThrows(Exception.class, () -> jwtUtil.verify(oldToken));
+    }
+
+    @Test
+    @DisplayName("Should verify tokens without key id against the default key")
+    void shouldVerifyLegacyTokenAgainstDefaultKey() {
+        String legacyToken = Jwts.builder()
+                .subject("jan.kowalski@example.com")
+                .claim(JwtUtil.ROLE_CLAIM, "EMPLOYEE")
+                .expiration(new Date(System.currentTimeMillis() + 3600000L))
+                .signWith(Keys.hmacShaKeyFor(OLD_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        VerifiedToken verified = new JwtUtil(rotatedRing(), 3600000L, 1209600000L).verify(legacyToken);
+
+        assertEquals("jan.kowalski@example.com", verified.subject());
+        assertNull(verified.keyId());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens with an unknown key id")
+    void shouldRejectUnknownKeyId() {
+        SigningKeyRing foreignRing = new SigningKeyRing(new JwtKeyProperties(NEW_SECRET, "k9", List.of()));
+        String token = new JwtUtil(foreignRing, 3600000L, 1209600000L)
+                .generateToken("jan.kowalski@example.com", "ADMIN", 0);
+
+        assertThrows(Exception.class, () -> new JwtUtil(rotatedRing(), 3600000L, 1209600000L).verify(token));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
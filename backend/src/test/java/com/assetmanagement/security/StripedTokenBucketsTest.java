@@ -0,0 +1,114 @@
+package com.assetmanagement.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedTokenBucketsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and report the wait for the next token")
+    void shouldAllowBurstUpToCapacity() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(4, 3, Duration.ofSeconds(10));
+
+        assertEquals(0, buckets.tryAcquire("user@example.com", 0));
+        assertEquals(0, buckets.tryAcquire("user@example.com", SECOND));
+        assertEquals(0, buckets.tryAcquire("user@example.com", 2 * SECOND));
+        assertEquals(7 * SECOND, buckets.tryAcquire("user@example.com", 3 * SECOND));
+        assertEquals(0, buckets.tryAcquire("other@example.com", 3 * SECOND));
+    }
+
+    @Test
+    @DisplayName("Should refill lazily one token per interval")
+    void shouldRefillLazily() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(4, 2, Duration.ofSeconds(1));
+        buckets.tryAcquire("10.0.0.1", 0);
+        buckets.tryAcquire("10.0.0.1", 0);
+
+        assertTrue(buckets.tryAcquire("10.0.0.1", SECOND / 2) > 0);
+        assertEquals(0, buckets.tryAcquire("10.0.0.1", SECOND));
+        assertTrue(buckets.tryAcquire("10.0.0.1", SECOND) > 0);
+    }
+
+    @Test
+    @DisplayName("Should give a released token back without exceeding capacity")
+    void shouldReleaseTokenUpToCapacity() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(4, 1, Duration.ofHours(1));
+        buckets.release("10.0.0.1");
+        assertEquals(0, buckets.tryAcquire("10.0.0.1", 0));
+        assertTrue(buckets.tryAcquire("10.0.0.1", 0) > 0);
+
+        buckets.release("10.0.0.1");
+        buckets.release("10.0.0.1");
+
+        assertEquals(0, buckets.tryAcquire("10.0.0.1", 0));
+        assertTrue(buckets.tryAcquire("10.0.0.1", 0) > 0);
+    }
+
+    @Test
+    @DisplayName("Should evict only buckets that refilled completely")
+    void shouldEvictOnlyRefilledBuckets() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(4, 2, Duration.ofSeconds(1));
+        buckets.tryAcquire("idle", 0);
+        buckets.tryAcquire("busy", 0);
+        buckets.tryAcquire("busy", 2 * SECOND);
+        buckets.tryAcquire("busy", 2 * SECOND);
+
+        assertEquals(1, buckets.evictIdle(2 * SECOND));
+        assertEquals(1, buckets.size());
+    }
+
+    @Test
+    @DisplayName("Should never grant more tokens than capacity under contention")
+    void shouldNotOvergrantUnderContention() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 10_000;
+        int keys = 100;
+        int capacity = 50;
+        StripedTokenBuckets buckets = new StripedTokenBuckets(8, capacity, Duration.ofDays(1));
+        AtomicInteger[] granted = new AtomicInteger[keys];
+        for (int i = 0; i < keys; i++) {
+            granted[i] = new AtomicInteger();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    int key = (i + offset) % keys;
+                    if (buckets.tryAcquire("user" + key + "@example.com", System.nanoTime()) == 0) {
+                        granted[key].incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < keys; i++) {
+            assertEquals(capacity, granted[i].get(), "Tokens granted for key " + i);
+        }
+        assertEquals(keys, buckets.size());
+    }
+}
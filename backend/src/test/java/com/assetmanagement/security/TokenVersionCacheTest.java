@@ -0,0 +1,53 @@
+package com.assetmanagement.security;
+
+import com.assetmanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenVersionCacheTest {
+
+    private static final String EMAIL = "jan.kowalski@example.com";
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+
+    @Test
+    @DisplayName("Should look up the token version once within TTL")
+    void shouldLookUpOnceWithinTtl() {
+        when(employeeRepository.findTokenVersionByEmail(EMAIL)).thenReturn(Optional.of(0));
+        TokenVersionCache cache = new TokenVersionCache(employeeRepository, Duration.ofMinutes(1));
+
+        assertTrue(cache.isCurrent(EMAIL, 0));
+        assertTrue(cache.isCurrent(EMAIL, 0));
+        assertFalse(cache.isCurrent(EMAIL, 1));
+
+        verify(employeeRepository, times(1)).findTokenVersionByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should reject stale token after invalidation")
+    void shouldRejectStaleTokenAfterInvalidation() {
+        when(employeeRepository.findTokenVersionByEmail(EMAIL)).thenReturn(Optional.of(0), Optional.of(1));
+        TokenVersionCache cache = new TokenVersionCache(employeeRepository, Duration.ofMinutes(1));
+
+        assertTrue(cache.isCurrent(EMAIL, 0));
+        cache.invalidateAfterCommit(EMAIL);
+
+        assertFalse(cache.isCurrent(EMAIL, 0));
+        assertTrue(cache.isCurrent(EMAIL, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens of unknown employees")
+    void shouldRejectUnknownEmployee() {
+        when(employeeRepository.findTokenVersionByEmail(EMAIL)).thenReturn(Optional.empty());
+        TokenVersionCache cache = new TokenVersionCache(employeeRepository, Duration.ofMinutes(1));
+
+        assertFalse(cache.isCurrent(EMAIL, 0));
+    }
+}
@@ -0,0 +1,97 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.model.AssetType;
+import com.assetmanagement.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Latency of top-10 searches over 500k synthetic assets. The baseline is a scan that tests every asset,
+ * which is what a LIKE filter on unindexed vendor and model words amounts to.
+ */
+@Tag("benchmark")
+class AssetSearchIndexBenchmarkTest {
+
+    private static final int ASSETS = 500_000;
+    private static final int LIMIT = 10;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final String[] VENDORS = {"Apple", "Dell", "Lenovo", "HP", "Samsung", "Google", "Sony", "Bose", "Canon", "Brother"};
+    private static final String[] MODELS = {"MacBook Pro", "Latitude", "ThinkPad", "EliteBook", "Galaxy Tab", "Pixel", "WH", "QuietComfort", "PIXMA", "LaserJet"};
+    private static final String[] QUERIES = {"dell lat", "sn-0042", "thinkpad 12", "pixel", "zzz", "apple macbook pro 9", "sn-49999"};
+
+    private final AssetSearchIndex index = new AssetSearchIndex(mock(AssetRepository.class));
+    private final List<AssetSearchIndex.Entry> entries = new ArrayList<>(ASSETS);
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        AssetType[] types = AssetType.values();
+        for (int i = 0; i < ASSETS; i++) {
+            int brand = random.nextInt(VENDORS.length);
+            entries.add(new AssetSearchIndex.Entry(i, types[brand % types.length], VENDORS[brand],
+                    MODELS[brand] + " " + random.nextInt(1000), String.format("SN-%07d", i), random.nextInt(10) > 0));
+        }
+        index.load(entries.stream());
+    }
+
+    private List<Long> scan(String query) {
+        List<String> words = PrefixIndex.queryWords(query);
+        List<Long> matches = new ArrayList<>(LIMIT);
+        for (AssetSearchIndex.Entry entry : entries) {
+            String text = (PrefixIndex.compact(entry.seriesNumber()) + " " + entry.vendor() + " " + entry.model())
+                    .toLowerCase(Locale.ROOT);
+            if (words.stream().allMatch(text::contains)) {
+                matches.add(entry.id());
+                if (matches.size() == LIMIT) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private long[] latenciesNanos(Function<String, ?> search) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            Arrays.stream(QUERIES).forEach(search::apply);
+        }
+        return IntStream.range(0, MEASURED_ROUNDS)
+                .mapToObj(round -> Arrays.stream(QUERIES).mapToLong(query -> {
+                    long start = System.nanoTime();
+                    search.apply(query);
+                    return System.nanoTime() - start;
+                }))
+                .flatMapToLong(latencies -> latencies)
+                .sorted()
+                .toArray();
+    }
+
+    private static double percentileMicros(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1000.0;
+    }
+
+    @Test
+    @DisplayName("Indexed search should answer top-k queries faster than scanning every asset")
+    void indexedSearchShouldOutpaceScan() {
+        long[] scanned = latenciesNanos(this::scan);
+        long[] indexed = latenciesNanos(query -> index.search(query, LIMIT));
+
+        assertTrue(percentileMicros(indexed, 0.5) < percentileMicros(scanned, 0.5),
+                "Index p50 " + percentileMicros(indexed, 0.5) + "us p99 " + percentileMicros(indexed, 0.99)
+                        + "us, scan p50 " + percentileMicros(scanned, 0.5) + "us p99 " + percentileMicros(scanned, 0.99) + "us");
+        assertEquals(List.of(42L), index.search("sn-0000042", LIMIT).stream().map(result -> result.getId()).toList());
+    }
+}
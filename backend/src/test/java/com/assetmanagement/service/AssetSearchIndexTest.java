@@ -0,0 +1,95 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.response.AssetSearchResponse;
+import com.assetmanagement.model.Asset;
+import com.assetmanagement.model.AssetType;
+import com.assetmanagement.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AssetSearchIndexTest {
+
+    private final AssetSearchIndex index = new AssetSearchIndex(mock(AssetRepository.class));
+
+    @BeforeEach
+    void setUp() {
+        index.load(Stream.of(
+                new AssetSearchIndex.Entry(1L, AssetType.LAPTOP, "Apple", "MacBook Pro 14", "AP-MBP14-002", true),
+                new AssetSearchIndex.Entry(2L, AssetType.SMARTPHONE, "Apple", "iPhone 14", "AP-IP14-005", true),
+                new AssetSearchIndex.Entry(3L, AssetType.LAPTOP, "HP", "ProBook 450", "HP-PB450-003", true),
+                new AssetSearchIndex.Entry(4L, AssetType.TABLET, "Samsung", "Galaxy Tab S9", "SM-TS9-010", false)));
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10).stream().map(AssetSearchResponse::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should match series number prefix ignoring case and separators")
+    void shouldMatchSeriesNumberPrefix() {
+        assertEquals(List.of(2L), ids("ap-ip"));
+        assertEquals(List.of(2L), ids("APIP14"));
+    }
+
+    @Test
+    @DisplayName("Should match vendor and model words by prefix")
+    void shouldMatchVendorAndModelWords() {
+        assertEquals(List.of(1L, 2L), ids("apple"));
+        assertEquals(List.of(4L), ids("gal"));
+    }
+
+    @Test
+    @DisplayName("Should require every query word to match")
+    void shouldRequireEveryWord() {
+        assertEquals(List.of(2L), ids("apple iphone"));
+        assertEquals(List.of(), ids("apple galaxy"));
+    }
+
+    @Test
+    @DisplayName("Should return an asset once when several of its words match")
+    void shouldDeduplicateAssets() {
+        assertEquals(List.of(1L, 3L), ids("pro"));
+    }
+
+    @Test
+    @DisplayName("Should stop at the limit")
+    void shouldStopAtLimit() {
+        assertEquals(1, index.search("apple", 1).size());
+        assertEquals(List.of(), index.search("apple", 0));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    @DisplayName("Should find assets added after the build and reflect deactivation")
+    void shouldApplyWritesAfterBuild() {
+        Asset created = new Asset();
+        created.setId(5L);
+        created.setAssetType(AssetType.HEADPHONES);
+        created.setVendor("Sony");
+        created.setModel("WH-1000XM5");
+        created.setSeriesNumber("SN-XM5-015");
+        created.setActive(true);
+        index.putAfterCommit(created);
+
+        Asset deactivated = new Asset();
+        deactivated.setId(2L);
+        deactivated.setAssetType(AssetType.SMARTPHONE);
+        deactivated.setVendor("Apple");
+        deactivated.setModel("iPhone 14");
+        deactivated.setSeriesNumber("AP-IP14-005");
+        deactivated.setActive(false);
+        index.putAfterCommit(deactivated);
+
+        assertEquals(List.of(5L), ids("sony wh"));
+        AssetSearchResponse iphone = index.search("iphone", 10).get(0);
+        assertFalse(iphone.isActive());
+        assertEquals(List.of(2L), ids("iphone"));
+    }
+}
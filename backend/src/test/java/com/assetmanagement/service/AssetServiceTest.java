@@ -4,15 +4,19 @@ import com.assetmanagement.dto.request.CreateAssetRequest;
 import com.assetmanagement.dto.response.AssetResponse;
 import com.assetmanagement.dto.response.EmployeeAssetResponse;
 import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.Asset;
 import com.assetmanagement.model.AssetType;
 import com.assetmanagement.model.Assignment;
 import com.assetmanagement.model.Employee;
 import com.assetmanagement.model.Role;
+import com.assetmanagement.repository.AssetFilter;
 import com.assetmanagement.repository.AssetRepository;
 import com.assetmanagement.repository.AssignmentRepository;
 import com.assetmanagement.repository.EmployeeRepository;
+import com.assetmanagement.repository.ListingCountCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,13 +24,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -34,7 +43,6 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,10 +57,28 @@ class AssetServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private ListingCountCache listingCountCache;
+
+    @Mock
+    private ChangeCounters changeCounters;
+
+    @Mock
+    private AssetSearchIndex assetSearchIndex;
+
+    @Spy
+    private SelfServiceCache selfServiceCache =
+            new SelfServiceCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Spy
+    private ReadCoalescer readCoalescer =
+            new ReadCoalescer(TransactionOperations.withoutTransaction(), new SimpleMeterRegistry());
+
     @InjectMocks
     private AssetService assetService;
 
     private Asset testAsset;
+    private AssetResponse testAssetResponse;
     private Employee testEmployee;
     private CreateAssetRequest createAssetRequest;
 
@@ -66,6 +92,9 @@ class AssetServiceTest {
         testAsset.setSeriesNumber("SN12345");
         testAsset.setActive(true);
 
+        testAssetResponse = new AssetResponse(1L, AssetType.LAPTOP, "Dell", "XPS 15", "SN12345", true,
+                null, null, null);
+
         testEmployee = new Employee();
         testEmployee.setId(1L);
         testEmployee.setFullName("Jan Kowalski");
@@ -99,6 +128,10 @@ class AssetServiceTest {
             assertEquals(testAsset.getSeriesNumber(), response.getSeriesNumber());
             assertTrue(response.isActive());
             verify(assetRepository).save(any(Asset.class));
+            verify(listingCountCache).invalidateAfterCommit();
+            verify(readCoalescer).invalidateAfterCommit();
+            verify(changeCounters).bump(ChangeCounters.Listing.ASSETS);
+            verify(assetSearchIndex).putAfterCommit(any(Asset.class));
         }
 
         @Test
@@ -112,6 +145,7 @@ class AssetServiceTest {
             assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
             assertEquals("Numer seryjny jest już używany", exception.getMessage());
             verify(assetRepository, never()).save(any(Asset.class));
+            verify(listingCountCache, never()).invalidateAfterCommit();
         }
     }
 
@@ -123,7 +157,6 @@ class AssetServiceTest {
         @DisplayName("Should return asset when found")
         void shouldReturnAssetWhenFound() {
             when(assetRepository.findById(1L)).thenReturn(Optional.of(testAsset));
-            when(assignmentRepository.findActiveByAssetId(1L)).thenReturn(Optional.empty());
 
             AssetResponse response = assetService.getAssetById(1L);
 
@@ -138,9 +171,9 @@ class AssetServiceTest {
             Assignment assignment = new Assignment();
             assignment.setEmployee(testEmployee);
             assignment.setAsset(testAsset);
+            testAsset.assign(assignment);
 
             when(assetRepository.findById(1L)).thenReturn(Optional.of(testAsset));
-            when(assignmentRepository.findActiveByAssetId(1L)).thenReturn(Optional.of(assignment));
 
             AssetResponse response = assetService.getAssetById(1L);
 
@@ -179,7 +212,6 @@ class AssetServiceTest {
             asset2.setActive(true);
 
             when(assetRepository.findAll()).thenReturn(Arrays.asList(testAsset, asset2));
-            when(assignmentRepository.findActiveByAssetId(anyLong())).thenReturn(Optional.empty());
 
             List<AssetResponse> response = assetService.getAllAssets();
 
@@ -196,6 +228,32 @@ class AssetServiceTest {
 
             assertTrue(response.isEmpty());
         }
+
+        @Test
+        @DisplayName("Should read current holders from assets without assignment lookups")
+        void shouldReadCurrentHoldersFromAssets() {
+            Asset asset2 = new Asset();
+            asset2.setId(2L);
+            asset2.setAssetType(AssetType.SMARTPHONE);
+            asset2.setVendor("Apple");
+            asset2.setModel("iPhone 15");
+            asset2.setSeriesNumber("SN67890");
+            asset2.setActive(true);
+
+            Assignment assignment = new Assignment();
+            assignment.setAsset(testAsset);
+            assignment.setEmployee(testEmployee);
+            testAsset.assign(assignment);
+
+            when(assetRepository.findAll()).thenReturn(Arrays.asList(testAsset, asset2));
+
+            List<AssetResponse> response = assetService.getAllAssets();
+
+            assertEquals(testEmployee.getId(), response.get(0).getAssignedEmployeeId());
+            assertEquals(testEmployee.getFullName(), response.get(0).getAssignedEmployeeFullName());
+            assertNull(response.get(1).getAssignedEmployeeId());
+            verifyNoInteractions(assignmentRepository);
+        }
     }
 
     @Nested
@@ -206,10 +264,9 @@ class AssetServiceTest {
         @DisplayName("Should return paged assets without filters")
         void shouldReturnPagedAssetsWithoutFilters() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Asset> assetPage = new PageImpl<>(List.of(testAsset), pageable, 1);
+            Page<AssetResponse> assetPage = new PageImpl<>(List.of(testAssetResponse), pageable, 1);
 
-            when(assetRepository.findAll(pageable)).thenReturn(assetPage);
-            when(assignmentRepository.findActiveByAssetId(anyLong())).thenReturn(Optional.empty());
+            when(assetRepository.findAssets(new AssetFilter(null, null, null), pageable)).thenReturn(assetPage);
 
             PagedResponse<AssetResponse> response = assetService.getAllAssets(pageable, null, null, null);
 
@@ -223,58 +280,71 @@ class AssetServiceTest {
         @DisplayName("Should filter assets by active status")
         void shouldFilterAssetsByActiveStatus() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Asset> assetPage = new PageImpl<>(List.of(testAsset), pageable, 1);
+            Page<AssetResponse> assetPage = new PageImpl<>(List.of(testAssetResponse), pageable, 1);
 
-            when(assetRepository.findByIsActive(true, pageable)).thenReturn(assetPage);
-            when(assignmentRepository.findActiveByAssetId(anyLong())).thenReturn(Optional.empty());
+            when(assetRepository.findAssets(new AssetFilter(true, null, null), pageable)).thenReturn(assetPage);
 
             PagedResponse<AssetResponse> response = assetService.getAllAssets(pageable, true, null, null);
 
             assertEquals(1, response.getContent().size());
-            verify(assetRepository).findByIsActive(true, pageable);
+            verify(assetRepository).findAssets(new AssetFilter(true, null, null), pageable);
         }
 
         @Test
         @DisplayName("Should filter assets by asset type")
         void shouldFilterAssetsByAssetType() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Asset> assetPage = new PageImpl<>(List.of(testAsset), pageable, 1);
+            Page<AssetResponse> assetPage = new PageImpl<>(List.of(testAssetResponse), pageable, 1);
 
-            when(assetRepository.findByAssetType(AssetType.LAPTOP, pageable)).thenReturn(assetPage);
-            when(assignmentRepository.findActiveByAssetId(anyLong())).thenReturn(Optional.empty());
+            when(assetRepository.findAssets(new AssetFilter(null, AssetType.LAPTOP, null), pageable)).thenReturn(assetPage);
 
             PagedResponse<AssetResponse> response = assetService.getAllAssets(pageable, null, AssetType.LAPTOP, null);
 
             assertEquals(1, response.getContent().size());
-            verify(assetRepository).findByAssetType(AssetType.LAPTOP, pageable);
+            verify(assetRepository).findAssets(new AssetFilter(null, AssetType.LAPTOP, null), pageable);
         }
 
         @Test
         @DisplayName("Should filter assets by assigned status")
         void shouldFilterAssetsByAssignedStatus() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Asset> assetPage = new PageImpl<>(List.of(testAsset), pageable, 1);
+            Page<AssetResponse> assetPage = new PageImpl<>(List.of(testAssetResponse), pageable, 1);
 
-            when(assetRepository.findAssigned(pageable)).thenReturn(assetPage);
-            when(assignmentRepository.findActiveByAssetId(anyLong())).thenReturn(Optional.empty());
+            when(assetRepository.findAssets(new AssetFilter(null, null, true), pageable)).thenReturn(assetPage);
 
             assetService.getAllAssets(pageable, null, null, true);
 
-            verify(assetRepository).findAssigned(pageable);
+            verify(assetRepository).findAssets(new AssetFilter(null, null, true), pageable);
         }
 
         @Test
         @DisplayName("Should filter assets with multiple criteria")
         void shouldFilterAssetsWithMultipleCriteria() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Asset> assetPage = new PageImpl<>(List.of(testAsset), pageable, 1);
+            Page<AssetResponse> assetPage = new PageImpl<>(List.of(testAssetResponse), pageable, 1);
 
-            when(assetRepository.findByIsActiveAndAssetType(true, AssetType.LAPTOP, pageable)).thenReturn(assetPage);
-            when(assignmentRepository.findActiveByAssetId(anyLong())).thenReturn(Optional.empty());
+            when(assetRepository.findAssets(new AssetFilter(true, AssetType.LAPTOP, null), pageable)).thenReturn(assetPage);
 
             assetService.getAllAssets(pageable, true, AssetType.LAPTOP, null);
 
-            verify(assetRepository).findByIsActiveAndAssetType(true, AssetType.LAPTOP, pageable);
+            verify(assetRepository).findAssets(new AssetFilter(true, AssetType.LAPTOP, null), pageable);
+        }
+
+        @Test
+        @DisplayName("Should return slice without total when total is not requested")
+        void shouldReturnSliceWithoutTotal() {
+            Pageable pageable = PageRequest.of(1, 10);
+            Slice<AssetResponse> assetSlice = new SliceImpl<>(List.of(testAssetResponse), pageable, true);
+
+            when(assetRepository.findAssetSlice(new AssetFilter(null, null, false), pageable)).thenReturn(assetSlice);
+
+            SlicedResponse<AssetResponse> response = assetService.getAssetSlice(pageable, null, null, false);
+
+            assertEquals(1, response.getContent().size());
+            assertEquals(1, response.getPage());
+            assertEquals(10, response.getSize());
+            assertTrue(response.isHasNext());
+            verify(assetRepository, never()).findAssets(any(), any());
         }
     }
 
@@ -286,12 +356,12 @@ class AssetServiceTest {
         @DisplayName("Should deactivate asset successfully")
         void shouldDeactivateAssetSuccessfully() {
             when(assetRepository.findById(1L)).thenReturn(Optional.of(testAsset));
-            when(assignmentRepository.findActiveByAssetId(1L)).thenReturn(Optional.empty());
 
             assetService.deactivateAsset(1L);
 
             assertFalse(testAsset.isActive());
             verify(assetRepository).save(testAsset);
+            verify(assetSearchIndex).putAfterCommit(testAsset);
         }
 
         @Test
@@ -300,9 +370,9 @@ class AssetServiceTest {
             Assignment activeAssignment = new Assignment();
             activeAssignment.setAsset(testAsset);
             activeAssignment.setEmployee(testEmployee);
+            testAsset.assign(activeAssignment);
 
             when(assetRepository.findById(1L)).thenReturn(Optional.of(testAsset));
-            when(assignmentRepository.findActiveByAssetId(1L)).thenReturn(Optional.of(activeAssignment));
 
             ApplicationException exception = assertThrows(ApplicationException.class,
                     () -> assetService.deactivateAsset(1L));
@@ -331,13 +401,11 @@ class AssetServiceTest {
         @Test
         @DisplayName("Should return active assets for employee")
         void shouldReturnActiveAssetsForEmployee() {
-            Assignment assignment = new Assignment();
-            assignment.setAsset(testAsset);
-            assignment.setEmployee(testEmployee);
-            assignment.setAssignedFrom(LocalDate.now().minusDays(30));
+            EmployeeAssetResponse asset = new EmployeeAssetResponse(testAsset.getAssetType(), testAsset.getVendor(),
+                    testAsset.getModel(), testAsset.getSeriesNumber(), LocalDate.now().minusDays(30));
 
             when(employeeRepository.findByEmail(testEmployee.getEmail())).thenReturn(Optional.of(testEmployee));
-            when(assignmentRepository.findActiveByEmployeeId(testEmployee.getId())).thenReturn(List.of(assignment));
+            when(assignmentRepository.findActiveAssetResponsesByEmployeeId(testEmployee.getId())).thenReturn(List.of(asset));
 
             List<EmployeeAssetResponse> response = assetService.getActiveAssetsByEmployeeEmail(testEmployee.getEmail());
 
@@ -363,7 +431,7 @@ class AssetServiceTest {
         @DisplayName("Should return empty list when employee has no active assets")
         void shouldReturnEmptyListWhenNoActiveAssets() {
             when(employeeRepository.findByEmail(testEmployee.getEmail())).thenReturn(Optional.of(testEmployee));
-            when(assignmentRepository.findActiveByEmployeeId(testEmployee.getId())).thenReturn(List.of());
+            when(assignmentRepository.findActiveAssetResponsesByEmployeeId(testEmployee.getId())).thenReturn(List.of());
 
             List<EmployeeAssetResponse> response = assetService.getActiveAssetsByEmployeeEmail(testEmployee.getEmail());
 
@@ -3,7 +3,9 @@ package com.assetmanagement.service;
 import com.assetmanagement.dto.request.CreateAssignmentRequest;
 import com.assetmanagement.dto.request.EndAssignmentRequest;
 import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
 import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.Asset;
 import com.assetmanagement.model.AssetType;
@@ -11,8 +13,11 @@ import com.assetmanagement.model.Assignment;
 import com.assetmanagement.model.Employee;
 import com.assetmanagement.model.Role;
 import com.assetmanagement.repository.AssetRepository;
+import com.assetmanagement.repository.AssignmentFilter;
 import com.assetmanagement.repository.AssignmentRepository;
 import com.assetmanagement.repository.EmployeeRepository;
+import com.assetmanagement.repository.ListingCountCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,17 +25,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -48,12 +62,27 @@ class AssignmentServiceTest {
     @Mock
     private AssetRepository assetRepository;
 
+    @Mock
+    private ListingCountCache listingCountCache;
+
+    @Mock
+    private ChangeCounters changeCounters;
+
+    @Spy
+    private SelfServiceCache selfServiceCache =
+            new SelfServiceCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Spy
+    private ReadCoalescer readCoalescer =
+            new ReadCoalescer(TransactionOperations.withoutTransaction(), new SimpleMeterRegistry());
+
     @InjectMocks
     private AssignmentService assignmentService;
 
     private Employee testEmployee;
     private Asset testAsset;
     private Assignment testAssignment;
+    private AssignmentResponse testAssignmentResponse;
     private CreateAssignmentRequest createAssignmentRequest;
 
     @BeforeEach
@@ -79,6 +108,9 @@ class AssignmentServiceTest {
         testAssignment.setAssignedFrom(LocalDate.of(2024, 1, 15));
         testAssignment.setAssignedUntil(null);
 
+        testAssignmentResponse = new AssignmentResponse(1L, 1L, AssetType.LAPTOP, "Dell", "XPS 15", "SN12345",
+                1L, "Jan Kowalski", LocalDate.of(2024, 1, 15), null);
+
         createAssignmentRequest = new CreateAssignmentRequest();
         createAssignmentRequest.setEmployeeId(1L);
         createAssignmentRequest.setAssetId(1L);
@@ -94,7 +126,6 @@ class AssignmentServiceTest {
         void shouldCreateAssignmentSuccessfully() {
             when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
             when(assetRepository.findById(1L)).thenReturn(Optional.of(testAsset));
-            when(assignmentRepository.findActiveByAssetId(1L)).thenReturn(Optional.empty());
             when(assignmentRepository.save(any(Assignment.class))).thenReturn(testAssignment);
 
             AssignmentResponse response = assignmentService.createAssignment(createAssignmentRequest);
@@ -105,7 +136,13 @@ class AssignmentServiceTest {
             assertEquals(testEmployee.getId(), response.getEmployeeId());
             assertEquals(testEmployee.getFullName(), response.getEmployeeFullName());
             assertTrue(response.isActive());
+            assertSame(testAssignment, testAsset.getCurrentAssignment());
+            assertSame(testEmployee, testAsset.getCurrentEmployee());
             verify(assignmentRepository).save(any(Assignment.class));
+            verify(listingCountCache).invalidateAfterCommit();
+            verify(readCoalescer).invalidateAfterCommit();
+            verify(selfServiceCache).evictAfterCommit(testEmployee.getId());
+            verify(changeCounters).bump(ChangeCounters.Listing.ASSETS, ChangeCounters.Listing.ASSIGNMENTS);
         }
 
         @Test
@@ -153,9 +190,9 @@ class AssignmentServiceTest {
         @Test
         @DisplayName("Should throw exception when asset is already assigned")
         void shouldThrowExceptionWhenAssetIsAlreadyAssigned() {
+            testAsset.assign(testAssignment);
             when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
             when(assetRepository.findById(1L)).thenReturn(Optional.of(testAsset));
-            when(assignmentRepository.findActiveByAssetId(1L)).thenReturn(Optional.of(testAssignment));
 
             ApplicationException exception = assertThrows(ApplicationException.class,
                     () -> assignmentService.createAssignment(createAssignmentRequest));
@@ -175,6 +212,8 @@ class AssignmentServiceTest {
             EndAssignmentRequest endRequest = new EndAssignmentRequest();
             endRequest.setAssignedUntil(LocalDate.of(2024, 6, 30));
 
+            testAsset.assign(testAssignment);
+
             Assignment endedAssignment = new Assignment();
             endedAssignment.setId(1L);
             endedAssignment.setEmployee(testEmployee);
@@ -190,6 +229,12 @@ class AssignmentServiceTest {
             assertNotNull(response);
             assertFalse(response.isActive());
             assertEquals(LocalDate.of(2024, 6, 30), response.getAssignedUntil());
+            assertFalse(testAsset.isAssigned());
+            assertNull(testAsset.getCurrentEmployee());
+            verify(listingCountCache).invalidateAfterCommit();
+            verify(readCoalescer).invalidateAfterCommit();
+            verify(selfServiceCache).evictAfterCommit(testEmployee.getId());
+            verify(changeCounters).bump(ChangeCounters.Listing.ASSETS, ChangeCounters.Listing.ASSIGNMENTS);
         }
 
         @Test
@@ -279,9 +324,9 @@ class AssignmentServiceTest {
         @DisplayName("Should return paged assignments without filters")
         void shouldReturnPagedAssignmentsWithoutFilters() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Assignment> assignmentPage = new PageImpl<>(List.of(testAssignment), pageable, 1);
+            Page<AssignmentResponse> assignmentPage = new PageImpl<>(List.of(testAssignmentResponse), pageable, 1);
 
-            when(assignmentRepository.findAll(pageable)).thenReturn(assignmentPage);
+            when(assignmentRepository.findAssignments(new AssignmentFilter(null, null, null), pageable)).thenReturn(assignmentPage);
 
             PagedResponse<AssignmentResponse> response = assignmentService.getAllAssignments(pageable, null, null, null);
 
@@ -294,52 +339,68 @@ class AssignmentServiceTest {
         @DisplayName("Should filter assignments by active status")
         void shouldFilterAssignmentsByActiveStatus() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Assignment> assignmentPage = new PageImpl<>(List.of(testAssignment), pageable, 1);
+            Page<AssignmentResponse> assignmentPage = new PageImpl<>(List.of(testAssignmentResponse), pageable, 1);
 
-            when(assignmentRepository.findActive(pageable)).thenReturn(assignmentPage);
+            when(assignmentRepository.findAssignments(new AssignmentFilter(true, null, null), pageable)).thenReturn(assignmentPage);
 
             assignmentService.getAllAssignments(pageable, true, null, null);
 
-            verify(assignmentRepository).findActive(pageable);
+            verify(assignmentRepository).findAssignments(new AssignmentFilter(true, null, null), pageable);
         }
 
         @Test
         @DisplayName("Should filter assignments by employee id")
         void shouldFilterAssignmentsByEmployeeId() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Assignment> assignmentPage = new PageImpl<>(List.of(testAssignment), pageable, 1);
+            Page<AssignmentResponse> assignmentPage = new PageImpl<>(List.of(testAssignmentResponse), pageable, 1);
 
-            when(assignmentRepository.findByEmployeeId(1L, pageable)).thenReturn(assignmentPage);
+            when(assignmentRepository.findAssignments(new AssignmentFilter(null, 1L, null), pageable)).thenReturn(assignmentPage);
 
             assignmentService.getAllAssignments(pageable, null, 1L, null);
 
-            verify(assignmentRepository).findByEmployeeId(1L, pageable);
+            verify(assignmentRepository).findAssignments(new AssignmentFilter(null, 1L, null), pageable);
         }
 
         @Test
         @DisplayName("Should filter assignments by asset id")
         void shouldFilterAssignmentsByAssetId() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Assignment> assignmentPage = new PageImpl<>(List.of(testAssignment), pageable, 1);
+            Page<AssignmentResponse> assignmentPage = new PageImpl<>(List.of(testAssignmentResponse), pageable, 1);
 
-            when(assignmentRepository.findByAssetId(1L, pageable)).thenReturn(assignmentPage);
+            when(assignmentRepository.findAssignments(new AssignmentFilter(null, null, 1L), pageable)).thenReturn(assignmentPage);
 
             assignmentService.getAllAssignments(pageable, null, null, 1L);
 
-            verify(assignmentRepository).findByAssetId(1L, pageable);
+            verify(assignmentRepository).findAssignments(new AssignmentFilter(null, null, 1L), pageable);
         }
 
         @Test
         @DisplayName("Should filter assignments by multiple criteria")
         void shouldFilterAssignmentsByMultipleCriteria() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Assignment> assignmentPage = new PageImpl<>(List.of(testAssignment), pageable, 1);
+            Page<AssignmentResponse> assignmentPage = new PageImpl<>(List.of(testAssignmentResponse), pageable, 1);
 
-            when(assignmentRepository.findActiveByEmployeeIdPaged(1L, pageable)).thenReturn(assignmentPage);
+            when(assignmentRepository.findAssignments(new AssignmentFilter(true, 1L, null), pageable)).thenReturn(assignmentPage);
 
             assignmentService.getAllAssignments(pageable, true, 1L, null);
 
-            verify(assignmentRepository).findActiveByEmployeeIdPaged(1L, pageable);
+            verify(assignmentRepository).findAssignments(new AssignmentFilter(true, 1L, null), pageable);
+        }
+
+        @Test
+        @DisplayName("Should return slice without total when total is not requested")
+        void shouldReturnSliceWithoutTotal() {
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<AssignmentResponse> assignmentSlice = new SliceImpl<>(List.of(testAssignmentResponse), pageable, false);
+
+            when(assignmentRepository.findAssignmentSlice(new AssignmentFilter(true, null, null), pageable))
+                    .thenReturn(assignmentSlice);
+
+            SlicedResponse<AssignmentResponse> response = assignmentService.getAssignmentSlice(pageable, true, null, null);
+
+            assertEquals(1, response.getContent().size());
+            assertFalse(response.isHasNext());
+            verify(assignmentRepository, never()).findAssignments(any(), any());
         }
     }
 
@@ -407,13 +468,28 @@ class AssignmentServiceTest {
         @DisplayName("Should return assignment history for employee by email")
         void shouldReturnAssignmentHistoryForEmployeeByEmail() {
             when(employeeRepository.findByEmail(testEmployee.getEmail())).thenReturn(Optional.of(testEmployee));
-            when(assignmentRepository.findByEmployee(testEmployee)).thenReturn(List.of(testAssignment));
+            when(assignmentRepository.findResponsesByEmployeeId(testEmployee.getId())).thenReturn(List.of(testAssignmentResponse));
 
             List<AssignmentResponse> response = assignmentService.getAssignmentHistoryByEmployeeEmail(testEmployee.getEmail());
 
             assertEquals(1, response.size());
         }
 
+        @Test
+        @DisplayName("Should serve repeat history loads from cache until evicted")
+        void shouldServeRepeatHistoryFromCacheUntilEvicted() {
+            when(employeeRepository.findByEmail(testEmployee.getEmail())).thenReturn(Optional.of(testEmployee));
+            when(assignmentRepository.findResponsesByEmployeeId(testEmployee.getId())).thenReturn(List.of(testAssignmentResponse));
+
+            assignmentService.getAssignmentHistoryByEmployeeEmail(testEmployee.getEmail());
+            assignmentService.getAssignmentHistoryByEmployeeEmail(testEmployee.getEmail());
+            verify(assignmentRepository, times(1)).findResponsesByEmployeeId(testEmployee.getId());
+
+            selfServiceCache.evictAfterCommit(testEmployee.getId());
+            assignmentService.getAssignmentHistoryByEmployeeEmail(testEmployee.getEmail());
+            verify(assignmentRepository, times(2)).findResponsesByEmployeeId(testEmployee.getId());
+        }
+
         @Test
         @DisplayName("Should throw exception when employee not found by email")
         void shouldThrowExceptionWhenEmployeeNotFoundByEmail() {
@@ -425,6 +501,78 @@ class AssignmentServiceTest {
             assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
             assertEquals("Pracownik nie został znaleziony", exception.getMessage());
         }
+
+        @Test
+        @DisplayName("Should page history by cursor scoped to the employee")
+        void shouldPageHistoryByCursor() {
+            CursorPagedResponse<AssignmentResponse> page = new CursorPagedResponse<>(
+                    List.of(testAssignmentResponse), 10, null, true);
+            when(employeeRepository.findByEmail(testEmployee.getEmail())).thenReturn(Optional.of(testEmployee));
+            when(assignmentRepository.findAssignmentsAfter(new AssignmentFilter(null, testEmployee.getId(), null),
+                    Sort.Order.asc("id"), null, 10)).thenReturn(page);
+
+            CursorPagedResponse<AssignmentResponse> response = assignmentService.getAssignmentHistoryAfter(
+                    testEmployee.getEmail(), null, 10, Sort.Order.asc("id"));
+
+            assertSame(page, response);
+            verify(assignmentRepository, never()).findResponsesByEmployeeId(any());
+        }
+
+        @Test
+        @DisplayName("Should serve the first history page from cache until evicted")
+        void shouldServeFirstHistoryPageFromCacheUntilEvicted() {
+            CursorPagedResponse<AssignmentResponse> page = new CursorPagedResponse<>(
+                    List.of(testAssignmentResponse), AssignmentService.HISTORY_PAGE_SIZE, null, true);
+            AssignmentFilter filter = new AssignmentFilter(null, testEmployee.getId(), null);
+            when(employeeRepository.findByEmail(testEmployee.getEmail())).thenReturn(Optional.of(testEmployee));
+            when(assignmentRepository.findAssignmentsAfter(filter, Sort.Order.asc("id"), "", AssignmentService.HISTORY_PAGE_SIZE))
+                    .thenReturn(page);
+
+            assignmentService.getAssignmentHistoryAfter(testEmployee.getEmail(), "", AssignmentService.HISTORY_PAGE_SIZE,
+                    Sort.Order.asc("id"));
+            assertSame(page, assignmentService.getAssignmentHistoryAfter(testEmployee.getEmail(), "",
+                    AssignmentService.HISTORY_PAGE_SIZE, Sort.Order.asc("id")));
+            verify(assignmentRepository, times(1)).findAssignmentsAfter(filter, Sort.Order.asc("id"), "",
+                    AssignmentService.HISTORY_PAGE_SIZE);
+
+            selfServiceCache.evictAfterCommit(testEmployee.getId());
+            assignmentService.getAssignmentHistoryAfter(testEmployee.getEmail(), "", AssignmentService.HISTORY_PAGE_SIZE,
+                    Sort.Order.asc("id"));
+            verify(assignmentRepository, times(2)).findAssignmentsAfter(filter, Sort.Order.asc("id"), "",
+                    AssignmentService.HISTORY_PAGE_SIZE);
+        }
+
+        @Test
+        @DisplayName("Should read later history pages from the database every time")
+        void shouldNotCacheLaterHistoryPages() {
+            AssignmentFilter filter = new AssignmentFilter(null, testEmployee.getId(), null);
+            when(employeeRepository.findByEmail(testEmployee.getEmail())).thenReturn(Optional.of(testEmployee));
+            when(assignmentRepository.findAssignmentsAfter(filter, Sort.Order.asc("id"), "cursor",
+                    AssignmentService.HISTORY_PAGE_SIZE))
+                    .thenReturn(new CursorPagedResponse<>(List.of(), AssignmentService.HISTORY_PAGE_SIZE, null, true));
+
+            assignmentService.getAssignmentHistoryAfter(testEmployee.getEmail(), "cursor",
+                    AssignmentService.HISTORY_PAGE_SIZE, Sort.Order.asc("id"));
+            assignmentService.getAssignmentHistoryAfter(testEmployee.getEmail(), "cursor",
+                    AssignmentService.HISTORY_PAGE_SIZE, Sort.Order.asc("id"));
+
+            verify(assignmentRepository, times(2)).findAssignmentsAfter(filter, Sort.Order.asc("id"), "cursor",
+                    AssignmentService.HISTORY_PAGE_SIZE);
+        }
+
+        @Test
+        @DisplayName("Should hand streamed history rows to the action and close the stream")
+        void shouldStreamHistoryRowsAndCloseStream() {
+            AtomicBoolean closed = new AtomicBoolean();
+            when(assignmentRepository.streamResponsesByEmployeeId(testEmployee.getId()))
+                    .thenReturn(Stream.of(testAssignmentResponse).onClose(() -> closed.set(true)));
+
+            List<AssignmentResponse> received = new ArrayList<>();
+            assignmentService.forEachAssignmentInHistory(testEmployee.getId(), received::add);
+
+            assertEquals(List.of(testAssignmentResponse), received);
+            assertTrue(closed.get());
+        }
     }
 
     @Nested
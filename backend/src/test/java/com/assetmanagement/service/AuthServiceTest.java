@@ -2,12 +2,17 @@ package com.assetmanagement.service;
 
 import com.assetmanagement.dto.request.ChangePasswordRequest;
 import com.assetmanagement.dto.request.LoginRequest;
+import com.assetmanagement.dto.request.RefreshTokenRequest;
 import com.assetmanagement.dto.response.LoginResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.Employee;
 import com.assetmanagement.model.Role;
 import com.assetmanagement.repository.EmployeeRepository;
 import com.assetmanagement.security.JwtUtil;
+import com.assetmanagement.security.RefreshToken;
+import com.assetmanagement.security.RevokedTokenRegistry;
+import com.assetmanagement.security.TokenVersionCache;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,24 +22,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
 
-    @Mock
-    private AuthenticationManager authenticationManager;
-
     @Mock
     private JwtUtil jwtUtil;
 
@@ -44,6 +45,12 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private RevokedTokenRegistry revokedTokenRegistry;
+
     @InjectMocks
     private AuthService authService;
 
@@ -77,83 +84,192 @@ class AuthServiceTest {
         @Test
         @DisplayName("Should login successfully and return JWT token")
         void shouldLoginSuccessfullyAndReturnJwtToken() {
-            when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                    .thenReturn(null); // Authentication doesn't throw exception
             when(employeeRepository.findByEmail(loginRequest.getEmail()))
                     .thenReturn(Optional.of(testEmployee));
-            when(jwtUtil.generateToken(testEmployee.getEmail(), testEmployee.getRole().name()))
+            when(passwordEncoder.matches(loginRequest.getPassword(), "encodedPassword123")).thenReturn(true);
+            when(jwtUtil.generateToken(testEmployee.getEmail(), testEmployee.getRole().name(), 0))
                     .thenReturn("generated.jwt.token");
+            when(jwtUtil.generateRefreshToken(testEmployee.getEmail(), 0))
+                    .thenReturn("generated.refresh.token");
 
             LoginResponse response = authService.login(loginRequest);
 
             assertNotNull(response);
             assertEquals("generated.jwt.token", response.getToken());
-            verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-            verify(jwtUtil).generateToken(testEmployee.getEmail(), testEmployee.getRole().name());
+            assertEquals("generated.refresh.token", response.getRefreshToken());
+            verify(employeeRepository, times(1)).findByEmail(loginRequest.getEmail());
+            verify(jwtUtil).generateToken(testEmployee.getEmail(), testEmployee.getRole().name(), 0);
         }
 
         @Test
         @DisplayName("Should login admin user successfully")
         void shouldLoginAdminUserSuccessfully() {
             testEmployee.setRole(Role.ADMIN);
-            when(authenticationManager.authenticate(any())).thenReturn(null);
             when(employeeRepository.findByEmail(loginRequest.getEmail()))
                     .thenReturn(Optional.of(testEmployee));
-            when(jwtUtil.generateToken(testEmployee.getEmail(), "ADMIN"))
+            when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+            when(jwtUtil.generateToken(testEmployee.getEmail(), "ADMIN", 0))
                     .thenReturn("admin.jwt.token");
 
             LoginResponse response = authService.login(loginRequest);
 
             assertEquals("admin.jwt.token", response.getToken());
-            verify(jwtUtil).generateToken(testEmployee.getEmail(), "ADMIN");
+            verify(jwtUtil).generateToken(testEmployee.getEmail(), "ADMIN", 0);
         }
 
         @Test
-        @DisplayName("Should throw exception when authentication fails")
-        void shouldThrowExceptionWhenAuthenticationFails() {
-            when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                    .thenThrow(new BadCredentialsException("Bad credentials"));
+        @DisplayName("Should throw exception when password does not match")
+        void shouldThrowExceptionWhenPasswordDoesNotMatch() {
+            when(employeeRepository.findByEmail(loginRequest.getEmail()))
+                    .thenReturn(Optional.of(testEmployee));
+            when(passwordEncoder.matches(loginRequest.getPassword(), "encodedPassword123")).thenReturn(false);
 
             ApplicationException exception = assertThrows(ApplicationException.class,
                     () -> authService.login(loginRequest));
 
             assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatus());
             assertEquals("Nieprawidłowy email lub hasło", exception.getMessage());
-            verify(employeeRepository, never()).findByEmail(anyString());
-            verify(jwtUtil, never()).generateToken(anyString(), anyString());
+            verify(passwordEncoder, never()).encode(anyString());
+            verify(jwtUtil, never()).generateToken(anyString(), anyString(), anyInt());
         }
 
         @Test
-        @DisplayName("Should throw exception when employee not found after authentication")
-        void shouldThrowExceptionWhenEmployeeNotFoundAfterAuthentication() {
-            when(authenticationManager.authenticate(any())).thenReturn(null);
+        @DisplayName("Should still verify a password when employee is not found")
+        void shouldVerifyDummyPasswordWhenEmployeeNotFound() {
             when(employeeRepository.findByEmail(loginRequest.getEmail()))
                     .thenReturn(Optional.empty());
+            when(passwordEncoder.encode(anyString())).thenReturn("dummyHash");
 
             ApplicationException exception = assertThrows(ApplicationException.class,
                     () -> authService.login(loginRequest));
 
             assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatus());
-            verify(jwtUtil, never()).generateToken(anyString(), anyString());
+            assertEquals("Nieprawidłowy email lub hasło", exception.getMessage());
+            verify(passwordEncoder).matches(loginRequest.getPassword(), "dummyHash");
+            verify(jwtUtil, never()).generateToken(anyString(), anyString(), anyInt());
         }
 
         @Test
-        @DisplayName("Should authenticate with correct credentials")
-        void shouldAuthenticateWithCorrectCredentials() {
-            when(authenticationManager.authenticate(any())).thenReturn(null);
+        @DisplayName("Should re-hash password stored below the target cost")
+        void shouldRehashPasswordBelowTargetCost() {
             when(employeeRepository.findByEmail(loginRequest.getEmail()))
                     .thenReturn(Optional.of(testEmployee));
-            when(jwtUtil.generateToken(anyString(), anyString())).thenReturn("token");
+            when(passwordEncoder.matches(loginRequest.getPassword(), "encodedPassword123")).thenReturn(true);
+            when(passwordEncoder.upgradeEncoding("encodedPassword123")).thenReturn(true);
+            when(passwordEncoder.encode(loginRequest.getPassword())).thenReturn("strongerHash");
+            when(jwtUtil.generateToken(anyString(), anyString(), anyInt())).thenReturn("token");
 
             authService.login(loginRequest);
 
-            verify(authenticationManager).authenticate(
-                    argThat(auth -> {
-                        UsernamePasswordAuthenticationToken token = (UsernamePasswordAuthenticationToken) auth;
-                        return token.getPrincipal().equals(loginRequest.getEmail()) &&
-                                token.getCredentials().equals(loginRequest.getPassword());
-                    })
-            );
+            verify(employeeRepository).replacePasswordHash(testEmployee.getId(), "encodedPassword123", "strongerHash");
+            verify(employeeRepository, never()).save(any(Employee.class));
+        }
+
+        @Test
+        @DisplayName("Should still log in when a concurrent request already replaced the hash")
+        void shouldLogInWhenHashReplacedConcurrently() {
+            when(employeeRepository.findByEmail(loginRequest.getEmail()))
+                    .thenReturn(Optional.of(testEmployee));
+            when(passwordEncoder.matches(loginRequest.getPassword(), "encodedPassword123")).thenReturn(true);
+            when(passwordEncoder.upgradeEncoding("encodedPassword123")).thenReturn(true);
+            when(passwordEncoder.encode(loginRequest.getPassword())).thenReturn("strongerHash");
+            when(employeeRepository.replacePasswordHash(testEmployee.getId(), "encodedPassword123", "strongerHash"))
+                    .thenReturn(0);
+            when(jwtUtil.generateToken(anyString(), anyString(), anyInt())).thenReturn("token");
+
+            assertNotNull(authService.login(loginRequest));
+        }
+
+        @Test
+        @DisplayName("Should not re-hash password already at the target cost")
+        void shouldNotRehashPasswordAtTargetCost() {
+            when(employeeRepository.findByEmail(loginRequest.getEmail()))
+                    .thenReturn(Optional.of(testEmployee));
+            when(passwordEncoder.matches(loginRequest.getPassword(), "encodedPassword123")).thenReturn(true);
+            when(jwtUtil.generateToken(anyString(), anyString(), anyInt())).thenReturn("token");
+
+            authService.login(loginRequest);
+
+            verify(passwordEncoder, never()).encode(anyString());
+            verify(employeeRepository, never()).replacePasswordHash(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh Tests")
+    class RefreshTests {
+
+        private final RefreshTokenRequest refreshRequest = new RefreshTokenRequest("refresh.jwt.token");
+        private final RefreshToken refreshToken = new RefreshToken("jti-1", "jan.kowalski@example.com", 0,
+                Instant.parse("2030-01-01T00:00:00Z"));
+
+        @Test
+        @DisplayName("Should rotate refresh token and issue new tokens")
+        void shouldRotateRefreshToken() {
+            when(jwtUtil.verifyRefreshToken("refresh.jwt.token")).thenReturn(refreshToken);
+            when(employeeRepository.findByEmail("jan.kowalski@example.com")).thenReturn(Optional.of(testEmployee));
+            when(revokedTokenRegistry.revoke("jti-1", refreshToken.expiresAt())).thenReturn(true);
+            when(jwtUtil.generateToken(testEmployee.getEmail(), "EMPLOYEE", 0)).thenReturn("new.access.token");
+            when(jwtUtil.generateRefreshToken(testEmployee.getEmail(), 0)).thenReturn("new.refresh.token");
+
+            LoginResponse response = authService.refresh(refreshRequest);
+
+            assertEquals("new.access.token", response.getToken());
+            assertEquals("new.refresh.token", response.getRefreshToken());
+            verify(passwordEncoder, never()).matches(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should reject revoked refresh token without loading the employee")
+        void shouldRejectRevokedRefreshToken() {
+            when(jwtUtil.verifyRefreshToken("refresh.jwt.token")).thenReturn(refreshToken);
+            when(revokedTokenRegistry.isRevoked("jti-1")).thenReturn(true);
+
+            ApplicationException exception = assertThrows(ApplicationException.class,
+                    () -> authService.refresh(refreshRequest));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatus());
+            verify(employeeRepository, never()).findByEmail(anyString());
+        }
+
+        @Test
+        @DisplayName("Should reject refresh token reused concurrently")
+        void shouldRejectReusedRefreshToken() {
+            when(jwtUtil.verifyRefreshToken("refresh.jwt.token")).thenReturn(refreshToken);
+            when(employeeRepository.findByEmail("jan.kowalski@example.com")).thenReturn(Optional.of(testEmployee));
+            when(revokedTokenRegistry.revoke("jti-1", refreshToken.expiresAt())).thenReturn(false);
+
+            ApplicationException exception = assertThrows(ApplicationException.class,
+                    () -> authService.refresh(refreshRequest));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatus());
+            verify(jwtUtil, never()).generateToken(anyString(), anyString(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should reject refresh token issued before password change")
+        void shouldRejectRefreshTokenWithStaleVersion() {
+            testEmployee.revokeTokens();
+            when(jwtUtil.verifyRefreshToken("refresh.jwt.token")).thenReturn(refreshToken);
+            when(employeeRepository.findByEmail("jan.kowalski@example.com")).thenReturn(Optional.of(testEmployee));
+
+            ApplicationException exception = assertThrows(ApplicationException.class,
+                    () -> authService.refresh(refreshRequest));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatus());
+            verify(revokedTokenRegistry, never()).revoke(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed refresh token")
+        void shouldRejectMalformedRefreshToken() {
+            when(jwtUtil.verifyRefreshToken("refresh.jwt.token")).thenThrow(new MalformedJwtException("bad"));
+
+            ApplicationException exception = assertThrows(ApplicationException.class,
+                    () -> authService.refresh(refreshRequest));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatus());
+            assertEquals("Nieprawidłowy token odświeżania", exception.getMessage());
         }
     }
 
@@ -178,6 +294,20 @@ class AuthServiceTest {
             assertEquals("encodedNewPassword", testEmployee.getPassword());
         }
 
+        @Test
+        @DisplayName("Should revoke issued tokens after password change")
+        void shouldRevokeIssuedTokensAfterPasswordChange() {
+            when(employeeRepository.findByEmail(changePasswordRequest.getEmail()))
+                    .thenReturn(Optional.of(testEmployee));
+            when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+            when(passwordEncoder.encode(anyString())).thenReturn("encodedNewPassword");
+
+            authService.changePassword(changePasswordRequest);
+
+            assertEquals(1, testEmployee.getTokenVersion());
+            verify(tokenVersionCache).invalidateAfterCommit(testEmployee.getEmail());
+        }
+
         @Test
         @DisplayName("Should throw exception when employee not found")
         void shouldThrowExceptionWhenEmployeeNotFoundForPasswordChange() {
@@ -207,6 +337,7 @@ class AuthServiceTest {
             assertEquals("Nieprawidłowy email lub hasło", exception.getMessage());
             verify(passwordEncoder, never()).encode(anyString());
             verify(employeeRepository, never()).save(any(Employee.class));
+            verify(tokenVersionCache, never()).invalidateAfterCommit(anyString());
         }
 
         @Test
@@ -232,10 +363,10 @@ class AuthServiceTest {
         @DisplayName("Should handle login with different email formats")
         void shouldHandleLoginWithDifferentEmailFormats() {
             loginRequest.setEmail("ADMIN@COMPANY.COM");
-            when(authenticationManager.authenticate(any())).thenReturn(null);
+            when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
             when(employeeRepository.findByEmail("ADMIN@COMPANY.COM"))
                     .thenReturn(Optional.of(testEmployee));
-            when(jwtUtil.generateToken(anyString(), anyString())).thenReturn("token");
+            when(jwtUtil.generateToken(anyString(), anyString(), anyInt())).thenReturn("token");
 
             LoginResponse response = authService.login(loginRequest);
 
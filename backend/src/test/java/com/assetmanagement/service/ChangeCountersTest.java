@@ -0,0 +1,63 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.repository.CollectionVersionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ChangeCountersTest {
+
+    private final CollectionVersionRepository collectionVersionRepository = mock(CollectionVersionRepository.class);
+    private final ChangeCounters changeCounters = new ChangeCounters(collectionVersionRepository);
+
+    @Test
+    @DisplayName("Should build ETag from the stored counter")
+    void shouldBuildETagFromCounter() {
+        when(collectionVersionRepository.findVersion("assets")).thenReturn(Optional.of(42L));
+
+        assertEquals("assets-42", changeCounters.eTag(ChangeCounters.Listing.ASSETS));
+    }
+
+    @Test
+    @DisplayName("Should increment every listing touched by a write")
+    void shouldIncrementEveryListing() {
+        when(collectionVersionRepository.increment(anyString())).thenReturn(1);
+
+        changeCounters.bump(ChangeCounters.Listing.ASSETS, ChangeCounters.Listing.ASSIGNMENTS);
+
+        verify(collectionVersionRepository).increment("assets");
+        verify(collectionVersionRepository).increment("assignments");
+        verify(collectionVersionRepository, never()).insert(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should create a missing counter on bump")
+    void shouldCreateMissingCounterOnBump() {
+        when(collectionVersionRepository.increment("employees")).thenReturn(0);
+
+        changeCounters.bump(ChangeCounters.Listing.EMPLOYEES);
+
+        verify(collectionVersionRepository).insert(eq("employees"), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should tolerate counters created concurrently at startup")
+    void shouldTolerateConcurrentCounterCreation() {
+        when(collectionVersionRepository.existsById(anyString())).thenReturn(false);
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(collectionVersionRepository).insert(eq("assets"), anyLong());
+
+        assertDoesNotThrow(changeCounters::createMissingCounters);
+
+        verify(collectionVersionRepository).insert(eq("assignments"), anyLong());
+        verify(collectionVersionRepository).insert(eq("employees"), anyLong());
+    }
+}
@@ -0,0 +1,108 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.model.Asset;
+import com.assetmanagement.model.AssetType;
+import com.assetmanagement.model.Assignment;
+import com.assetmanagement.model.Employee;
+import com.assetmanagement.model.Role;
+import com.assetmanagement.repository.AssetRepository;
+import com.assetmanagement.repository.AssignmentRepository;
+import com.assetmanagement.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CurrentHolderRepairJobTest {
+
+    @Autowired
+    private CurrentHolderRepairJob currentHolderRepairJob;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Employee employee;
+    private Asset asset;
+
+    @BeforeEach
+    void setUp() {
+        employee = new Employee();
+        employee.setFullName("Repair Holder");
+        employee.setEmail("repair.holder@example.com");
+        employee.setPassword("encodedPassword");
+        employee.setRole(Role.EMPLOYEE);
+        employee.setHiredFrom(LocalDate.of(2024, 1, 1));
+        employeeRepository.save(employee);
+
+        asset = new Asset();
+        asset.setAssetType(AssetType.LAPTOP);
+        asset.setVendor("HP");
+        asset.setModel("EliteBook");
+        asset.setSeriesNumber("REPAIR-001");
+        asset.setActive(true);
+        assetRepository.save(asset);
+    }
+
+    private Asset reloadAsset() {
+        entityManager.flush();
+        entityManager.clear();
+        return assetRepository.findById(asset.getId()).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should set holder of an asset whose active assignment was not recorded")
+    void shouldSetMissingHolder() {
+        Assignment assignment = new Assignment();
+        assignment.setAsset(asset);
+        assignment.setEmployee(employee);
+        assignment.setAssignedFrom(LocalDate.of(2024, 3, 1));
+        assignmentRepository.save(assignment);
+        entityManager.flush();
+
+        currentHolderRepairJob.repairCurrentHolders();
+
+        Asset repaired = reloadAsset();
+        assertEquals(assignment.getId(), repaired.getCurrentAssignment().getId());
+        assertEquals(employee.getId(), repaired.getCurrentEmployee().getId());
+        assertTrue(repaired.getVersion() > asset.getVersion(), "repair should bump the asset version");
+    }
+
+    @Test
+    @DisplayName("Should clear holder of an asset whose assignment has ended")
+    void shouldClearStaleHolder() {
+        Assignment assignment = new Assignment();
+        assignment.setAsset(asset);
+        assignment.setEmployee(employee);
+        assignment.setAssignedFrom(LocalDate.of(2024, 3, 1));
+        asset.assign(assignmentRepository.save(assignment));
+        assignment.setAssignedUntil(LocalDate.of(2024, 6, 30));
+        entityManager.flush();
+
+        currentHolderRepairJob.repairCurrentHolders();
+
+        Asset repaired = reloadAsset();
+        assertFalse(repaired.isAssigned());
+        assertNull(repaired.getCurrentEmployee());
+    }
+}
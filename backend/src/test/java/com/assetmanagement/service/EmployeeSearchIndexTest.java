@@ -0,0 +1,66 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.model.Employee;
+import com.assetmanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class EmployeeSearchIndexTest {
+
+    private final EmployeeSearchIndex index = new EmployeeSearchIndex(mock(EmployeeRepository.class));
+
+    private void add(long id, String fullName, String email) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFullName(fullName);
+        employee.setEmail(email);
+        index.addAfterCommit(employee);
+    }
+
+    @BeforeEach
+    void setUp() {
+        add(1L, "Łukasz Żółć", "lukasz.zolc@example.com");
+        add(2L, "Jan Kowalski", "jan.kowalski@example.com");
+        add(3L, "Józef Łęcki", "jozef.lecki@example.com");
+        add(4L, "Joanna Nowak", "joanna.nowak@example.com");
+    }
+
+    @Test
+    @DisplayName("Should fold Polish diacritics on both sides")
+    void shouldFoldDiacritics() {
+        assertEquals(List.of(1L), index.search("lukasz zol", 0, 10));
+        assertEquals(List.of(1L), index.search("ŁUKASZ ŻÓŁĆ", 0, 10));
+        assertEquals(List.of(3L), index.search("lecki", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Should match email prefixes including separators")
+    void shouldMatchEmailPrefix() {
+        assertEquals(List.of(2L), index.search("jan.kow", 0, 10));
+        assertEquals(List.of(4L), index.search("nowak", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Should page through matches")
+    void shouldPageThroughMatches() {
+        List<Long> all = index.search("jo", 0, 10);
+
+        assertEquals(2, all.size());
+        assertEquals(all.subList(0, 1), index.search("jo", 0, 1));
+        assertEquals(all.subList(1, 2), index.search("jo", 1, 1));
+        assertEquals(List.of(), index.search("jo", 2, 1));
+    }
+
+    @Test
+    @DisplayName("Should ignore blank queries")
+    void shouldIgnoreBlankQueries() {
+        assertEquals(List.of(), index.search("  ", 0, 10));
+        assertEquals(List.of(), index.search("-", 0, 10));
+    }
+}
@@ -2,10 +2,14 @@ package com.assetmanagement.service;
 
 import com.assetmanagement.dto.request.CreateEmployeeRequest;
 import com.assetmanagement.dto.response.EmployeeResponse;
+import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.dto.response.SlicedResponse;
 import com.assetmanagement.exception.ApplicationException;
 import com.assetmanagement.model.Employee;
 import com.assetmanagement.model.Role;
+import com.assetmanagement.repository.EmployeeFilter;
 import com.assetmanagement.repository.EmployeeRepository;
+import com.assetmanagement.repository.ListingCountCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,6 +19,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -37,6 +44,15 @@ class EmployeeServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ChangeCounters changeCounters;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private ListingCountCache listingCountCache;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -96,6 +112,9 @@ class EmployeeServiceTest {
 
             ArgumentCaptor<Employee> employeeCaptor = ArgumentCaptor.forClass(Employee.class);
             verify(employeeRepository).save(employeeCaptor.capture());
+            verify(listingCountCache).invalidateAfterCommit();
+            verify(changeCounters).bump(ChangeCounters.Listing.EMPLOYEES);
+            verify(employeeSearchIndex).addAfterCommit(testEmployee);
             assertEquals("encodedPassword123", employeeCaptor.getValue().getPassword());
         }
 
@@ -111,6 +130,7 @@ class EmployeeServiceTest {
             assertEquals("Ten adres email jest już używany", exception.getMessage());
             verify(employeeRepository, never()).save(any(Employee.class));
             verify(passwordEncoder, never()).encode(anyString());
+            verify(listingCountCache, never()).invalidateAfterCommit();
         }
 
         @Test
@@ -152,30 +172,47 @@ class EmployeeServiceTest {
         @Test
         @DisplayName("Should return all employees")
         void shouldReturnAllEmployees() {
-            Employee employee2 = new Employee();
-            employee2.setId(2L);
-            employee2.setFullName("Anna Nowak");
-            employee2.setEmail("anna.nowak@example.com");
-            employee2.setRole(Role.ADMIN);
-            employee2.setHiredFrom(LocalDate.of(2023, 6, 1));
+            EmployeeResponse employee1 = new EmployeeResponse(1L, "Jan Kowalski", "jan.kowalski@example.com",
+                    Role.EMPLOYEE, LocalDate.of(2024, 1, 15), null);
+            EmployeeResponse employee2 = new EmployeeResponse(2L, "Anna Nowak", "anna.nowak@example.com",
+                    Role.ADMIN, LocalDate.of(2023, 6, 1), null);
+
+            Pageable pageable = PageRequest.of(0, 10);
+            when(employeeRepository.findEmployees(new EmployeeFilter(null), pageable))
+                    .thenReturn(new PageImpl<>(Arrays.asList(employee1, employee2), pageable, 2));
+
+            PagedResponse<EmployeeResponse> response = employeeService.getAllEmployees(pageable, null);
+
+            assertEquals(2, response.getContent().size());
+            assertEquals("Jan Kowalski", response.getContent().get(0).getFullName());
+            assertEquals("Anna Nowak", response.getContent().get(1).getFullName());
+            assertEquals(2, response.getTotalElements());
+            assertTrue(response.isLast());
+        }
 
-            when(employeeRepository.findAll()).thenReturn(Arrays.asList(testEmployee, employee2));
+        @Test
+        @DisplayName("Should return empty page when no employees")
+        void shouldReturnEmptyPageWhenNoEmployees() {
+            Pageable pageable = PageRequest.of(0, 10);
+            when(employeeRepository.findEmployees(new EmployeeFilter(null), pageable))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
 
-            List<EmployeeResponse> response = employeeService.getAllEmployees();
+            PagedResponse<EmployeeResponse> response = employeeService.getAllEmployees(pageable, null);
 
-            assertEquals(2, response.size());
-            assertEquals("Jan Kowalski", response.get(0).getFullName());
-            assertEquals("Anna Nowak", response.get(1).getFullName());
+            assertTrue(response.getContent().isEmpty());
+            assertEquals(0, response.getTotalElements());
         }
 
         @Test
-        @DisplayName("Should return empty list when no employees")
-        void shouldReturnEmptyListWhenNoEmployees() {
-            when(employeeRepository.findAll()).thenReturn(List.of());
+        @DisplayName("Should filter employees by current status")
+        void shouldFilterEmployeesByCurrentStatus() {
+            Pageable pageable = PageRequest.of(0, 10);
+            when(employeeRepository.findEmployees(new EmployeeFilter(false), pageable))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
 
-            List<EmployeeResponse> response = employeeService.getAllEmployees();
+            employeeService.getAllEmployees(pageable, false);
 
-            assertTrue(response.isEmpty());
+            verify(employeeRepository).findEmployees(new EmployeeFilter(false), pageable);
         }
     }
 
@@ -233,4 +270,40 @@ class EmployeeServiceTest {
             );
         }
     }
+
+    @Nested
+    @DisplayName("Search Employees Tests")
+    class SearchEmployeesTests {
+
+        private EmployeeResponse response(Long id, String fullName) {
+            return new EmployeeResponse(id, fullName, "e" + id + "@example.com", Role.EMPLOYEE,
+                    LocalDate.of(2024, 1, 15), null);
+        }
+
+        @Test
+        @DisplayName("Should return page rows in index order")
+        void shouldReturnPageRowsInIndexOrder() {
+            when(employeeSearchIndex.search("lukasz", 2L, 3)).thenReturn(List.of(7L, 3L, 9L));
+            when(employeeRepository.findResponsesByIdIn(List.of(7L, 3L)))
+                    .thenReturn(List.of(response(3L, "Łukasz Nowak"), response(7L, "Łukasz Żółć")));
+
+            SlicedResponse<EmployeeResponse> result = employeeService.searchEmployees("lukasz", PageRequest.of(1, 2));
+
+            assertEquals(List.of(7L, 3L), result.getContent().stream().map(EmployeeResponse::getId).toList());
+            assertTrue(result.isHasNext());
+            assertEquals(1, result.getPage());
+        }
+
+        @Test
+        @DisplayName("Should not query the database when nothing matches")
+        void shouldNotQueryDatabaseWithoutMatches() {
+            when(employeeSearchIndex.search("zzz", 0L, 21)).thenReturn(List.of());
+
+            SlicedResponse<EmployeeResponse> result = employeeService.searchEmployees("zzz", PageRequest.of(0, 20));
+
+            assertTrue(result.getContent().isEmpty());
+            assertFalse(result.isHasNext());
+            verify(employeeRepository, never()).findResponsesByIdIn(any());
+        }
+    }
 }
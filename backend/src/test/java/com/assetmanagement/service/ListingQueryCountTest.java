@@ -0,0 +1,355 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.response.AssetResponse;
+import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.CursorPagedResponse;
+import com.assetmanagement.dto.response.EmployeeResponse;
+import com.assetmanagement.dto.response.OptionResponse;
+import com.assetmanagement.dto.response.PagedResponse;
+import com.assetmanagement.model.Asset;
+import com.assetmanagement.model.AssetType;
+import com.assetmanagement.model.Assignment;
+import com.assetmanagement.model.Employee;
+import com.assetmanagement.model.Role;
+import com.assetmanagement.repository.AssetRepository;
+import com.assetmanagement.repository.AssignmentRepository;
+import com.assetmanagement.repository.EmployeeRepository;
+import com.assetmanagement.repository.ListingCountCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class ListingQueryCountTest {
+
+    private static final int ROWS = 60;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ListingCountCache listingCountCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private final List<Employee> employees = new ArrayList<>();
+    private final List<Asset> assets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Employee employee = new Employee();
+            employee.setFullName("Holder " + i);
+            employee.setEmail("holder" + i + "@example.com");
+            employee.setPassword("encodedPassword");
+            employee.setRole(Role.EMPLOYEE);
+            employee.setHiredFrom(LocalDate.of(2024, 1, 1));
+            employees.add(employeeRepository.save(employee));
+
+            Asset asset = new Asset();
+            asset.setAssetType(AssetType.LAPTOP);
+            asset.setVendor("Dell");
+            asset.setModel("Latitude " + i);
+            asset.setSeriesNumber("QC-" + i);
+            asset.setActive(true);
+            assets.add(assetRepository.save(asset));
+
+            Assignment assignment = new Assignment();
+            assignment.setEmployee(employee);
+            assignment.setAsset(asset);
+            assignment.setAssignedFrom(LocalDate.of(2024, 2, 1));
+            asset.assign(assignmentRepository.save(assignment));
+        }
+        entityManager.flush();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long countCachedStatements(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long countStatements(Runnable action) {
+        listingCountCache.invalidate();
+        return countCachedStatements(action);
+    }
+
+    @Nested
+    @DisplayName("Asset Listing Tests")
+    class AssetListingTests {
+
+        @Test
+        @DisplayName("Should not issue more statements for a larger page")
+        void shouldKeepStatementCountConstantAsPageGrows() {
+            long smallPage = countStatements(
+                    () -> assetService.getAllAssets(PageRequest.of(0, 5), null, null, true));
+            long largePage = countStatements(
+                    () -> assetService.getAllAssets(PageRequest.of(0, 50), null, null, true));
+
+            assertEquals(smallPage, largePage);
+            assertTrue(largePage <= 2, "Expected page and count queries only but got " + largePage);
+        }
+
+        @Test
+        @DisplayName("Should load all assets with their holders in one query")
+        void shouldLoadAllAssetsWithHoldersInOneQuery() {
+            long statements = countStatements(() -> assetService.getAllAssets());
+
+            assertEquals(1, statements);
+        }
+
+        @Test
+        @DisplayName("Should fetch a slice without a count query")
+        void shouldFetchSliceWithoutCountQuery() {
+            long statements = countStatements(
+                    () -> assetService.getAssetSlice(PageRequest.of(2, 5), null, null, true));
+
+            assertEquals(1, statements);
+        }
+
+        @Test
+        @DisplayName("Should reuse cached total while paging through the same filter")
+        void shouldReuseCachedTotalWhilePaging() {
+            long firstPage = countStatements(
+                    () -> assetService.getAllAssets(PageRequest.of(0, 5), null, null, true));
+            long secondPage = countCachedStatements(
+                    () -> assetService.getAllAssets(PageRequest.of(1, 5), null, null, true));
+
+            assertEquals(2, firstPage);
+            assertEquals(1, secondPage);
+        }
+
+        @Test
+        @DisplayName("Should walk keyset pages with one statement each and no duplicates")
+        void shouldWalkKeysetPagesWithoutCountQuery() {
+            Set<Long> seen = new HashSet<>();
+            String after = "";
+            int pages = 0;
+            do {
+                String cursor = after;
+                AtomicReference<CursorPagedResponse<AssetResponse>> page = new AtomicReference<>();
+                long statements = countStatements(() -> page.set(assetService.getAssetsAfter(
+                        cursor, 7, Sort.Order.desc("model"), null, null, true)));
+
+                assertEquals(1, statements);
+                page.get().getContent().forEach(asset -> assertTrue(seen.add(asset.getId())));
+                after = page.get().getNextCursor();
+                pages++;
+            } while (after != null);
+
+            assertEquals(ROWS + 1, seen.size());
+            assertEquals((ROWS + 1 + 6) / 7, pages);
+        }
+
+        @Test
+        @DisplayName("Should cap the cursor page size")
+        void shouldCapCursorPageSize() {
+            CursorPagedResponse<AssetResponse> page = assetService.getAssetsAfter(
+                    "", Integer.MAX_VALUE, Sort.Order.asc("id"), null, null, true);
+
+            assertEquals(200, page.getSize());
+            assertEquals(ROWS + 1, page.getContent().size());
+            assertTrue(page.isLast());
+        }
+    }
+
+    @Nested
+    @DisplayName("Assignment Listing Tests")
+    class AssignmentListingTests {
+
+        @Test
+        @DisplayName("Should not issue more statements for a larger page")
+        void shouldKeepStatementCountConstantAsPageGrows() {
+            long smallPage = countStatements(
+                    () -> assignmentService.getAllAssignments(PageRequest.of(0, 5), true, null, null));
+            long largePage = countStatements(
+                    () -> assignmentService.getAllAssignments(PageRequest.of(0, 50), true, null, null));
+
+            assertEquals(smallPage, largePage);
+            assertTrue(largePage <= 2, "Expected page and count queries only but got " + largePage);
+        }
+
+        @Test
+        @DisplayName("Should not issue more statements for a longer employee history")
+        void shouldKeepStatementCountConstantAsHistoryGrows() {
+            Employee longTenured = employees.get(0);
+            for (int i = 1; i < ROWS; i++) {
+                Assignment ended = new Assignment();
+                ended.setEmployee(longTenured);
+                ended.setAsset(assets.get(i));
+                ended.setAssignedFrom(LocalDate.of(2023, 1, 1));
+                ended.setAssignedUntil(LocalDate.of(2023, 12, 31));
+                assignmentRepository.save(ended);
+            }
+            entityManager.flush();
+
+            long shortHistory = countStatements(
+                    () -> assignmentService.getAssignmentHistoryByEmployeeEmail(employees.get(1).getEmail()));
+            long longHistory = countStatements(
+                    () -> assignmentService.getAssignmentHistoryByEmployeeEmail(longTenured.getEmail()));
+
+            assertEquals(shortHistory, longHistory);
+            assertEquals(2, longHistory);
+        }
+
+        @Test
+        @DisplayName("Should stream a long employee history in one statement without managing entities")
+        void shouldStreamLongHistoryInOneStatement() {
+            Employee longTenured = employees.get(0);
+            for (int i = 1; i < ROWS; i++) {
+                Assignment ended = new Assignment();
+                ended.setEmployee(longTenured);
+                ended.setAsset(assets.get(i));
+                ended.setAssignedFrom(LocalDate.of(2023, 1, 1));
+                ended.setAssignedUntil(LocalDate.of(2023, 12, 31));
+                assignmentRepository.save(ended);
+            }
+            entityManager.flush();
+
+            List<Long> ids = new ArrayList<>();
+            long statements = countStatements(() -> assignmentService.forEachAssignmentInHistory(longTenured.getId(),
+                    assignment -> ids.add(assignment.getId())));
+
+            assertEquals(1, statements);
+            assertEquals(ROWS, ids.size());
+            assertEquals(ids.stream().sorted().toList(), ids);
+            assertEquals(0, statistics.getEntityLoadCount());
+        }
+
+        @Test
+        @DisplayName("Should page an employee history by cursor")
+        void shouldPageHistoryByCursor() {
+            Employee employee = employees.get(0);
+            CursorPagedResponse<AssignmentResponse> page = assignmentService.getAssignmentHistoryAfter(
+                    employee.getEmail(), null, 10, Sort.Order.asc("id"));
+
+            assertEquals(1, page.getContent().size());
+            assertEquals(employee.getId(), page.getContent().get(0).getEmployeeId());
+            assertTrue(page.isLast());
+        }
+    }
+
+    @Nested
+    @DisplayName("Employee Listing Tests")
+    class EmployeeListingTests {
+
+        @Test
+        @DisplayName("Should not issue more statements for a larger page")
+        void shouldKeepStatementCountConstantAsPageGrows() {
+            long smallPage = countStatements(
+                    () -> employeeService.getAllEmployees(PageRequest.of(0, 5), true));
+            long largePage = countStatements(
+                    () -> employeeService.getAllEmployees(PageRequest.of(0, 50), true));
+
+            assertEquals(smallPage, largePage);
+            assertTrue(largePage <= 2, "Expected page and count queries only but got " + largePage);
+        }
+
+        @Test
+        @DisplayName("Should split employees into current and former by end date")
+        void shouldSplitCurrentAndFormerEmployees() {
+            Employee former = employees.get(0);
+            former.setHiredUntil(LocalDate.now().minusDays(1));
+            Employee leavingToday = employees.get(1);
+            leavingToday.setHiredUntil(LocalDate.now());
+            entityManager.flush();
+
+            PagedResponse<EmployeeResponse> formerPage = employeeService.getAllEmployees(PageRequest.of(0, 200), false);
+            PagedResponse<EmployeeResponse> currentPage = employeeService.getAllEmployees(PageRequest.of(0, 200), true);
+
+            assertEquals(List.of(former.getId()), formerPage.getContent().stream().map(EmployeeResponse::getId).toList());
+            assertTrue(currentPage.getContent().stream().anyMatch(e -> e.getId().equals(leavingToday.getId())));
+            assertTrue(currentPage.getContent().stream().noneMatch(e -> e.getId().equals(former.getId())));
+            assertEquals(currentPage.getTotalElements() + 1,
+                    employeeService.getAllEmployees(PageRequest.of(0, 1), null).getTotalElements());
+        }
+    }
+
+    @Nested
+    @DisplayName("Option Tests")
+    class OptionTests {
+
+        @Test
+        @DisplayName("Should load asset options matching a prefix in one statement")
+        void shouldLoadAssetOptionsInOneStatement() {
+            AtomicReference<List<OptionResponse>> options = new AtomicReference<>();
+            long statements = countStatements(() -> options.set(assetService.getAssetOptions("QC-1", false, 5)));
+
+            assertEquals(1, statements);
+            assertEquals(5, options.get().size());
+            options.get().forEach(option -> assertTrue(option.getLabel().startsWith("Dell Latitude 1"), option.getLabel()));
+        }
+
+        @Test
+        @DisplayName("Should leave assigned assets out of available options")
+        void shouldExcludeAssignedAssets() {
+            Set<Long> assigned = new HashSet<>();
+            assets.forEach(asset -> assigned.add(asset.getId()));
+
+            List<OptionResponse> options = assetService.getAssetOptions(null, true, 200);
+
+            options.forEach(option -> assertFalse(assigned.contains(option.getId()), option.getLabel()));
+        }
+
+        @Test
+        @DisplayName("Should match LIKE wildcards in the prefix literally")
+        void shouldMatchWildcardsLiterally() {
+            assertTrue(assetService.getAssetOptions("QC%", false, 20).isEmpty());
+            assertTrue(employeeService.getEmployeeOptions("Holder_", 20).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should load employee options matching a prefix in one statement")
+        void shouldLoadEmployeeOptionsInOneStatement() {
+            AtomicReference<List<OptionResponse>> options = new AtomicReference<>();
+            long statements = countStatements(() -> options.set(employeeService.getEmployeeOptions("Holder 1", 3)));
+
+            assertEquals(1, statements);
+            assertEquals(List.of("Holder 1 (holder1@example.com)", "Holder 10 (holder10@example.com)",
+                    "Holder 11 (holder11@example.com)"), options.get().stream().map(OptionResponse::getLabel).toList());
+        }
+    }
+}
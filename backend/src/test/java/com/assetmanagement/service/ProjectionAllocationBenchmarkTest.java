@@ -0,0 +1,139 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.response.AssetResponse;
+import com.assetmanagement.model.Asset;
+import com.assetmanagement.model.AssetType;
+import com.assetmanagement.model.Assignment;
+import com.assetmanagement.model.Employee;
+import com.assetmanagement.model.Role;
+import com.assetmanagement.repository.AssetFilter;
+import com.assetmanagement.repository.AssetRepository;
+import com.assetmanagement.repository.AssignmentRepository;
+import com.assetmanagement.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class ProjectionAllocationBenchmarkTest {
+
+    private static final int ROWS = 1000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+    private static final Pageable PAGE = PageRequest.of(0, ROWS);
+    private static final AssetFilter NO_FILTER = new AssetFilter(null, null, null);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Employee employee = new Employee();
+            employee.setFullName("Benchmark " + i);
+            employee.setEmail("benchmark" + i + "@example.com");
+            employee.setPassword("encodedPassword");
+            employee.setRole(Role.EMPLOYEE);
+            employee.setHiredFrom(LocalDate.of(2024, 1, 1));
+            employeeRepository.save(employee);
+
+            Asset asset = new Asset();
+            asset.setAssetType(AssetType.LAPTOP);
+            asset.setVendor("Lenovo");
+            asset.setModel("ThinkPad " + i);
+            asset.setSeriesNumber("BM-" + i);
+            asset.setActive(true);
+            assetRepository.save(asset);
+
+            Assignment assignment = new Assignment();
+            assignment.setEmployee(employee);
+            assignment.setAsset(asset);
+            assignment.setAssignedFrom(LocalDate.of(2024, 2, 1));
+            asset.assign(assignmentRepository.save(assignment));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long bytesPerPage(Runnable pageLoad) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            pageLoad.run();
+            entityManager.clear();
+        }
+
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            pageLoad.run();
+            entityManager.clear();
+        }
+        return (threadMXBean.getCurrentThreadAllocatedBytes() - before) / MEASURED_ITERATIONS;
+    }
+
+    private List<AssetResponse> loadPageThroughEntities() {
+        return assetRepository.findAll(PAGE).getContent().stream()
+                .map(asset -> {
+                    Employee holder = asset.getCurrentEmployee();
+                    return new AssetResponse(asset.getId(), asset.getAssetType(), asset.getVendor(), asset.getModel(),
+                            asset.getSeriesNumber(), asset.isActive(),
+                            holder != null ? holder.getId() : null,
+                            holder != null ? holder.getFullName() : null,
+                            holder != null ? holder.getEmail() : null);
+                })
+                .toList();
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Projection page should allocate less heap than the entity page")
+    void projectionShouldAllocateLessThanEntities() {
+        long entityBytes = bytesPerPage(this::loadPageThroughEntities);
+        long projectionBytes = bytesPerPage(() -> assetRepository.findAssets(NO_FILTER, PAGE));
+
+        assertTrue(projectionBytes < entityBytes,
+                "Projection allocated " + projectionBytes + " B, entity path " + entityBytes + " B");
+    }
+
+    @Test
+    @DisplayName("Projection page should not load entities into the persistence context")
+    void projectionShouldNotLoadEntities() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<AssetResponse> page = assetRepository.findAssets(NO_FILTER, PAGE);
+
+        assertEquals(ROWS, page.getNumberOfElements());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
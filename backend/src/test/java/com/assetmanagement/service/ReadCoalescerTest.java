@@ -0,0 +1,148 @@
+package com.assetmanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadCoalescerTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadCoalescer coalescer =
+            new ReadCoalescer(TransactionOperations.withoutTransaction(), meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double reads(String result) {
+        return meterRegistry.get("listing.reads").tag("listing", "assets").tag("result", result).counter().count();
+    }
+
+    private void awaitFollowers(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("listing.reads").tag("result", "coalesced").counter() == null
+                || reads("coalesced") < followers) {
+            assertTrue(System.nanoTime() < deadline, "Followers did not join the flight");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Should run one query for concurrent identical reads")
+    void shouldRunOneQueryForConcurrentIdenticalReads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> coalescer.execute("assets", "active", PageRequest.of(0, 10), () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "page";
+        }));
+        while (loads.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(executor.submit(() -> coalescer.execute("assets", "active", PageRequest.of(0, 10), () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        awaitFollowers(FOLLOWERS);
+        release.countDown();
+
+        assertEquals("page", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("page", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1.0, reads("executed"));
+        assertEquals(FOLLOWERS, reads("coalesced"));
+    }
+
+    @Test
+    @DisplayName("Should not share reads with a different page or filter")
+    void shouldNotShareDifferentReads() {
+        coalescer.execute("assets", "active", PageRequest.of(0, 10), loads::incrementAndGet);
+        coalescer.execute("assets", "active", PageRequest.of(1, 10), loads::incrementAndGet);
+        coalescer.execute("assets", "inactive", PageRequest.of(0, 10), loads::incrementAndGet);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should start a new query after invalidation")
+    void shouldStartNewQueryAfterInvalidation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> coalescer.execute("assets", "active", PageRequest.of(0, 10), () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "stale";
+        }));
+        while (loads.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        coalescer.invalidateAfterCommit();
+        String fresh = coalescer.execute("assets", "active", PageRequest.of(0, 10), () -> {
+            loads.incrementAndGet();
+            return "fresh";
+        });
+        release.countDown();
+
+        assertEquals("fresh", fresh);
+        assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should propagate leader failure to followers")
+    void shouldPropagateLeaderFailureToFollowers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> coalescer.<String>execute("assets", "active", PageRequest.of(0, 10), () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        }));
+        while (loads.get() == 0) {
+            Thread.sleep(5);
+        }
+        Future<String> follower = executor.submit(() -> coalescer.<String>execute("assets", "active", PageRequest.of(0, 10),
+                () -> "other"));
+        awaitFollowers(1);
+        release.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+        assertInstanceOf(IllegalStateException.class, followerFailure.getCause());
+        assertEquals("database unavailable", followerFailure.getCause().getMessage());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.assetmanagement.service;
+
+import com.assetmanagement.dto.response.AssignmentResponse;
+import com.assetmanagement.dto.response.EmployeeAssetResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfServiceCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private List<AssignmentResponse> loadHistory() {
+        loads.incrementAndGet();
+        return List.of();
+    }
+
+    private List<EmployeeAssetResponse> loadAssets() {
+        loads.incrementAndGet();
+        return List.of();
+    }
+
+    @Test
+    @DisplayName("Should load each view once per employee")
+    void shouldLoadEachViewOncePerEmployee() {
+        SelfServiceCache cache = new SelfServiceCache(100, Duration.ofMinutes(1), meterRegistry);
+
+        cache.assignmentHistory(1L, this::loadHistory);
+        cache.assignmentHistory(1L, this::loadHistory);
+        cache.activeAssets(1L, this::loadAssets);
+        cache.assignmentHistory(2L, this::loadHistory);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict both views of the employee only")
+    void shouldEvictOnlyTheAffectedEmployee() {
+        SelfServiceCache cache = new SelfServiceCache(100, Duration.ofMinutes(1), meterRegistry);
+        cache.assignmentHistory(1L, this::loadHistory);
+        cache.activeAssets(1L, this::loadAssets);
+        cache.assignmentHistory(2L, this::loadHistory);
+
+        cache.evictAfterCommit(1L);
+        cache.assignmentHistory(1L, this::loadHistory);
+        cache.activeAssets(1L, this::loadAssets);
+        cache.assignmentHistory(2L, this::loadHistory);
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not fill the cache from inside a caller's transaction")
+    void shouldNotFillFromInsideTransaction() {
+        SelfServiceCache cache = new SelfServiceCache(100, Duration.ofMinutes(1), meterRegistry);
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            cache.assignmentHistory(1L, this::loadHistory);
+            cache.assignmentHistory(1L, this::loadHistory);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(2, loads.get());
+
+        cache.assignmentHistory(1L, this::loadHistory);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            cache.assignmentHistory(1L, this::loadHistory);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should reload after TTL expires")
+    void shouldReloadAfterTtlExpires() {
+        SelfServiceCache cache = new SelfServiceCache(100, Duration.ZERO, meterRegistry);
+
+        cache.assignmentHistory(1L, this::loadHistory);
+        cache.assignmentHistory(1L, this::loadHistory);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should export hit and miss counts")
+    void shouldExportHitAndMissCounts() {
+        SelfServiceCache cache = new SelfServiceCache(100, Duration.ofMinutes(1), meterRegistry);
+
+        cache.assignmentHistory(1L, this::loadHistory);
+        cache.assignmentHistory(1L, this::loadHistory);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+}
@@ -23,6 +23,23 @@ export interface PagedResponse<T> {
   last: boolean;
 }
 
+export interface CursorPagedResponse<T> {
+  content: T[];
+  size: number;
+  nextCursor: string | null;
+  last: boolean;
+}
+
+export interface OptionResponse {
+  id: number;
+  label: string;
+}
+
+export interface OptionQuery {
+  prefix?: string;
+  limit?: number;
+}
+
 export interface CreateAssetRequest {
   assetType: AssetType;
   vendor: string;
@@ -68,6 +85,15 @@ export const getAssets = async (
   return response.data;
 };
 
+export const getAssetOptions = async (
+  query: OptionQuery & { availableOnly?: boolean } = {}
+): Promise<OptionResponse[]> => {
+  const response = await apiClient.get<OptionResponse[]>('/admin/assets/options', {
+    params: query,
+  });
+  return response.data;
+};
+
 export const getAssetById = async (id: number): Promise<Asset> => {
   const response = await apiClient.get<Asset>(`/admin/assets/${id}`);
   return response.data;
@@ -1,5 +1,5 @@
 import apiClient from './client';
-import { PagedResponse, AssetType } from './assets';
+import { PagedResponse, CursorPagedResponse, AssetType } from './assets';
 
 export interface Assignment {
   id: number;
@@ -58,7 +58,12 @@ export const endAssignment = async (id: number, data: EndAssignmentRequest): Pro
   return response.data;
 };
 
-export const getMyAssignments = async (): Promise<Assignment[]> => {
-  const response = await apiClient.get<Assignment[]>('/employee/assignments');
+export const getMyAssignmentsAfter = async (
+  after: string = '',
+  size: number = 50
+): Promise<CursorPagedResponse<Assignment>> => {
+  const response = await apiClient.get<CursorPagedResponse<Assignment>>('/employee/assignments', {
+    params: { after, size },
+  });
   return response.data;
 };
@@ -0,0 +1,74 @@
+import { describe, it, expect, vi, beforeEach, afterEach } from 'vitest';
+import axios, { AxiosError, AxiosAdapter, InternalAxiosRequestConfig } from 'axios';
+import apiClient from './client';
+
+const respond = (config: InternalAxiosRequestConfig, status: number, data: unknown = {}) => {
+  const response = { status, statusText: '', data, headers: {}, config };
+  if (status >= 400) {
+    return Promise.reject(new AxiosError('Request failed', 'ERR_BAD_REQUEST', config, null, response));
+  }
+  return Promise.resolve(response);
+};
+
+describe('apiClient', () => {
+  const originalApiAdapter = apiClient.defaults.adapter;
+  const originalAdapter = axios.defaults.adapter;
+  let refreshAdapter: ReturnType<typeof vi.fn>;
+
+  const useApi = (handler: (config: InternalAxiosRequestConfig) => Promise<unknown>) => {
+    apiClient.defaults.adapter = vi.fn(handler) as unknown as AxiosAdapter;
+  };
+
+  beforeEach(() => {
+    localStorage.clear();
+    localStorage.setItem('token', 'expired.access');
+    localStorage.setItem('refreshToken', 'refresh.1');
+    refreshAdapter = vi.fn((config: InternalAxiosRequestConfig) =>
+      respond(config, 200, { token: 'fresh.access', refreshToken: 'refresh.2' }));
+    axios.defaults.adapter = refreshAdapter as unknown as AxiosAdapter;
+  });
+
+  afterEach(() => {
+    apiClient.defaults.adapter = originalApiAdapter;
+    axios.defaults.adapter = originalAdapter;
+  });
+
+  it('should refresh the access token once and retry the request after a 401', async () => {
+    useApi((config) => respond(config, config.headers.Authorization === 'Bearer fresh.access' ? 200 : 401, ['ok']));
+
+    const response = await apiClient.get('/employee/assets');
+
+    expect(response.data).toEqual(['ok']);
+    expect(refreshAdapter).toHaveBeenCalledTimes(1);
+    expect(JSON.parse(refreshAdapter.mock.calls[0][0].data)).toEqual({ refreshToken: 'refresh.1' });
+    expect(localStorage.getItem('token')).toBe('fresh.access');
+    expect(localStorage.getItem('refreshToken')).toBe('refresh.2');
+  });
+
+  it('should share one refresh between concurrent 401 responses', async () => {
+    useApi((config) => respond(config, config.headers.Authorization === 'Bearer fresh.access' ? 200 : 401));
+
+    await Promise.all([apiClient.get('/employee/assets'), apiClient.get('/employee/assignments')]);
+
+    expect(refreshAdapter).toHaveBeenCalledTimes(1);
+  });
+
+  it('should log out when the refresh fails', async () => {
+    useApi((config) => respond(config, 401));
+    refreshAdapter.mockImplementation((config: InternalAxiosRequestConfig) => respond(config, 401));
+
+    await expect(apiClient.get('/employee/assets')).rejects.toThrow();
+
+    expect(localStorage.getItem('token')).toBeNull();
+    expect(localStorage.getItem('refreshToken')).toBeNull();
+  });
+
+  it('should not retry a failed login', async () => {
+    useApi((config) => respond(config, 401));
+
+    await expect(apiClient.post('/auth/login', {})).rejects.toThrow();
+
+    expect(refreshAdapter).not.toHaveBeenCalled();
+    expect(localStorage.getItem('refreshToken')).toBe('refresh.1');
+  });
+});
@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { AxiosError, InternalAxiosRequestConfig } from 'axios';
 
 const apiClient = axios.create({
   baseURL: '/api/v1',
@@ -7,6 +7,10 @@ const apiClient = axios.create({
   },
 });
 
+interface RetriableRequestConfig extends InternalAxiosRequestConfig {
+  _retried?: boolean;
+}
+
 // Request interceptor - dodawanie tokena JWT
 apiClient.interceptors.request.use(
   (config) => {
@@ -19,18 +23,59 @@ apiClient.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
-// Response interceptor - obsługa 401
+// Współdzielone odświeżenie, żeby kilka równoległych 401 zużyło jeden token odświeżania
+let refreshing: Promise<string> | null = null;
+
+const refreshAccessToken = (): Promise<string> => {
+  if (!refreshing) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshing = (refreshToken
+      ? axios.post<{ token: string; refreshToken: string }>('/api/v1/auth/refresh', { refreshToken })
+          .then((response) => {
+            localStorage.setItem('token', response.data.token);
+            localStorage.setItem('refreshToken', response.data.refreshToken);
+            return response.data.token;
+          })
+      : Promise.reject(new Error('Brak tokenu odświeżania'))
+    ).finally(() => {
+      refreshing = null;
+    });
+  }
+  return refreshing;
+};
+
+const redirectToLogin = () => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+  window.location.href = '/login';
+};
+
+// Response interceptor - odświeżenie tokena przy 401, logowanie dopiero gdy odświeżenie się nie uda
 apiClient.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error: AxiosError) => {
+    const config = error.config as RetriableRequestConfig | undefined;
     // Nie przekierowuj przy błędzie logowania - pozwól wyświetlić komunikat błędu
-    const isLoginRequest = error.config?.url?.includes('/auth/login');
-    if (error.response?.status === 401 && !isLoginRequest) {
-      localStorage.removeItem('token');
-      localStorage.removeItem('user');
-      window.location.href = '/login';
+    const isLoginRequest = config?.url?.includes('/auth/login');
+    if (error.response?.status !== 401 || isLoginRequest || !config) {
+      return Promise.reject(error);
+    }
+    if (config._retried) {
+      redirectToLogin();
+      return Promise.reject(error);
+    }
+
+    let token: string;
+    try {
+      token = await refreshAccessToken();
+    } catch {
+      redirectToLogin();
+      return Promise.reject(error);
     }
-    return Promise.reject(error);
+    config._retried = true;
+    config.headers.Authorization = `Bearer ${token}`;
+    return apiClient(config);
   }
 );
 
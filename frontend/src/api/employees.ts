@@ -1,4 +1,5 @@
 import apiClient from './client';
+import { OptionQuery, OptionResponse, PagedResponse } from './assets';
 
 export interface Employee {
   id: number;
@@ -18,8 +19,32 @@ export interface CreateEmployeeRequest {
   hiredUntil?: string | null;
 }
 
-export const getEmployees = async (): Promise<Employee[]> => {
-  const response = await apiClient.get<Employee[]>('/admin/employees');
+export interface EmployeeFilters {
+  isCurrent?: boolean | null;
+}
+
+export const getEmployees = async (
+  page: number = 0,
+  size: number = 10,
+  sort: string = 'id,asc',
+  filters?: EmployeeFilters
+): Promise<PagedResponse<Employee>> => {
+  const params: Record<string, unknown> = { page, size, sort };
+
+  if (filters?.isCurrent !== undefined && filters.isCurrent !== null) {
+    params.isCurrent = filters.isCurrent;
+  }
+
+  const response = await apiClient.get<PagedResponse<Employee>>('/admin/employees', {
+    params,
+  });
+  return response.data;
+};
+
+export const getEmployeeOptions = async (query: OptionQuery = {}): Promise<OptionResponse[]> => {
+  const response = await apiClient.get<OptionResponse[]>('/admin/employees/options', {
+    params: query,
+  });
   return response.data;
 };
 
@@ -0,0 +1,48 @@
+import { describe, it, expect, vi } from 'vitest';
+import { render, screen, fireEvent, waitFor } from '@testing-library/react';
+import { QueryClient, QueryClientProvider } from '@tanstack/react-query';
+import OptionAutocomplete from './OptionAutocomplete';
+import { OptionResponse } from '../../api/assets';
+
+const options = (count: number): OptionResponse[] =>
+  Array.from({ length: count }, (_, i) => ({ id: i + 1, label: `Pracownik ${i + 1}` }));
+
+const renderAutocomplete = (fetchOptions: () => Promise<OptionResponse[]>) =>
+  render(
+    <QueryClientProvider client={new QueryClient({ defaultOptions: { queries: { retry: false } } })}>
+      <OptionAutocomplete
+        label="Pracownik"
+        queryKey={['employee-options']}
+        fetchOptions={fetchOptions}
+        value={null}
+        onChange={vi.fn()}
+      />
+    </QueryClientProvider>
+  );
+
+describe('OptionAutocomplete', () => {
+  it('should send the typed text as prefix', async () => {
+    const fetchOptions = vi.fn().mockResolvedValue([]);
+    renderAutocomplete(fetchOptions);
+
+    fireEvent.change(screen.getByLabelText('Pracownik'), { target: { value: 'Kow' } });
+
+    await waitFor(() => {
+      expect(fetchOptions).toHaveBeenCalledWith({ prefix: 'Kow', limit: 21 });
+    });
+  });
+
+  it('should ask to refine the search when there are more results', async () => {
+    renderAutocomplete(vi.fn().mockResolvedValue(options(21)));
+
+    expect(await screen.findByText(/wpisz więcej znaków, aby zawęzić/i)).toBeInTheDocument();
+  });
+
+  it('should not show the hint when all results fit', async () => {
+    const fetchOptions = vi.fn().mockResolvedValue(options(3));
+    renderAutocomplete(fetchOptions);
+
+    await waitFor(() => expect(fetchOptions).toHaveBeenCalled());
+    expect(screen.queryByText(/wpisz więcej znaków, aby zawęzić/i)).not.toBeInTheDocument();
+  });
+});
@@ -0,0 +1,94 @@
+import { useEffect, useState } from 'react';
+import { keepPreviousData, useQuery } from '@tanstack/react-query';
+import { Autocomplete, TextField } from '@mui/material';
+import { OptionQuery, OptionResponse } from '../../api/assets';
+
+const OPTIONS_LIMIT = 20;
+const SEARCH_DELAY_MS = 300;
+
+interface OptionAutocompleteProps {
+  label: string;
+  queryKey: unknown[];
+  fetchOptions: (query: OptionQuery) => Promise<OptionResponse[]>;
+  value: OptionResponse | null;
+  onChange: (value: OptionResponse | null) => void;
+  enabled?: boolean;
+  size?: 'small' | 'medium';
+  fullWidth?: boolean;
+  required?: boolean;
+  error?: boolean;
+  helperText?: string;
+  noOptionsText?: string;
+}
+
+export default function OptionAutocomplete({
+  label,
+  queryKey,
+  fetchOptions,
+  value,
+  onChange,
+  enabled = true,
+  size = 'medium',
+  fullWidth = false,
+  required,
+  error,
+  helperText,
+  noOptionsText = 'Brak wyników',
+}: OptionAutocompleteProps) {
+  const [inputValue, setInputValue] = useState('');
+  const [search, setSearch] = useState('');
+  const [prefix, setPrefix] = useState('');
+
+  useEffect(() => {
+    const timeout = setTimeout(() => setPrefix(search.trim()), SEARCH_DELAY_MS);
+    return () => clearTimeout(timeout);
+  }, [search]);
+
+  // Pobieramy o jeden wynik więcej, żeby wiedzieć, czy lista została obcięta
+  const { data = [], isFetching } = useQuery({
+    queryKey: [...queryKey, prefix],
+    queryFn: () => fetchOptions({ prefix: prefix || undefined, limit: OPTIONS_LIMIT + 1 }),
+    enabled,
+    placeholderData: keepPreviousData,
+  });
+
+  const hasMore = data.length > OPTIONS_LIMIT;
+  const fetched = data.slice(0, OPTIONS_LIMIT);
+  const options = value && !fetched.some((o) => o.id === value.id) ? [value, ...fetched] : fetched;
+
+  return (
+    <Autocomplete
+      options={options}
+      value={value}
+      onChange={(_, option) => onChange(option)}
+      inputValue={inputValue}
+      onInputChange={(_, newInputValue, reason) => {
+        setInputValue(newInputValue);
+        // Wybranie pozycji wpisuje w pole jej etykietę, której nie traktujemy jako prefiksu
+        setSearch(reason === 'input' ? newInputValue : '');
+      }}
+      filterOptions={(x) => x}
+      getOptionLabel={(option) => option.label}
+      isOptionEqualToValue={(option, selected) => option.id === selected.id}
+      loading={isFetching}
+      loadingText="Wyszukiwanie..."
+      noOptionsText={noOptionsText}
+      size={size}
+      fullWidth={fullWidth}
+      sx={fullWidth ? undefined : { minWidth: 280 }}
+      renderInput={(params) => (
+        <TextField
+          {...params}
+          label={label}
+          required={required}
+          error={error}
+          helperText={
+            helperText
+            || (hasMore ? `Wyświetlono pierwsze ${OPTIONS_LIMIT} wyników – wpisz więcej znaków, aby zawęzić` : undefined)
+          }
+          margin={size === 'small' ? 'none' : 'normal'}
+        />
+      )}
+    />
+  );
+}
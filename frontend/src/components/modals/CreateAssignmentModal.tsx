@@ -1,19 +1,23 @@
 import { useState } from 'react';
-import { useForm } from 'react-hook-form';
+import { Controller, useForm } from 'react-hook-form';
 import { zodResolver } from '@hookform/resolvers/zod';
 import { z } from 'zod';
-import { Button, Alert, TextField, MenuItem } from '@mui/material';
+import { Button, Alert, TextField } from '@mui/material';
 import Modal from '../forms/Modal';
+import OptionAutocomplete from '../data/OptionAutocomplete';
 import { createAssignment } from '../../api/assignments';
-import { Employee } from '../../api/employees';
-import { Asset } from '../../api/assets';
+import { getAssetOptions, OptionQuery, OptionResponse } from '../../api/assets';
+import { getEmployeeOptions } from '../../api/employees';
 import { AxiosError } from 'axios';
 
 const getTodayDate = () => new Date().toISOString().split('T')[0];
 
+// Tylko dostępne zasoby (aktywne i nieprzypisane), odfiltrowane po stronie serwera
+const getAvailableAssetOptions = (query: OptionQuery) => getAssetOptions({ ...query, availableOnly: true });
+
 const schema = z.object({
-  employeeId: z.string().min(1, 'Pracownik jest wymagany'),
-  assetId: z.string().min(1, 'Zasób jest wymagany'),
+  employee: z.custom<OptionResponse>((value) => value != null, 'Pracownik jest wymagany'),
+  asset: z.custom<OptionResponse>((value) => value != null, 'Zasób jest wymagany'),
   assignedFrom: z.string()
     .min(1, 'Data rozpoczęcia jest wymagana')
     .refine((date) => date <= getTodayDate(), {
@@ -27,16 +31,12 @@ interface CreateAssignmentModalProps {
   open: boolean;
   onClose: () => void;
   onSuccess: () => void;
-  employees: Employee[];
-  assets: Asset[];
 }
 
 export default function CreateAssignmentModal({
   open,
   onClose,
   onSuccess,
-  employees,
-  assets,
 }: CreateAssignmentModalProps) {
   const [error, setError] = useState<string | null>(null);
   const [loading, setLoading] = useState(false);
@@ -45,6 +45,7 @@ export default function CreateAssignmentModal({
 
   const {
     register,
+    control,
     handleSubmit,
     reset,
     formState: { errors },
@@ -55,19 +56,14 @@ export default function CreateAssignmentModal({
     },
   });
 
-  // Filtruj tylko dostępne zasoby (aktywne i nieprzypisane)
-  const availableAssets = assets.filter(
-    (asset) => asset.isActive && !asset.assignedEmployeeId
-  );
-
   const onSubmit = async (data: FormData) => {
     setLoading(true);
     setError(null);
 
     try {
       await createAssignment({
-        employeeId: parseInt(data.employeeId),
-        assetId: parseInt(data.assetId),
+        employeeId: data.employee.id,
+        assetId: data.asset.id,
         assignedFrom: data.assignedFrom,
       });
       reset();
@@ -110,40 +106,44 @@ export default function CreateAssignmentModal({
       {error && <Alert severity="error" sx={{ mb: 2 }}>{error}</Alert>}
 
       <form onSubmit={handleSubmit(onSubmit)}>
-        <TextField
-          select
-          label="Pracownik"
-          {...register('employeeId')}
-          error={!!errors.employeeId}
-          helperText={errors.employeeId?.message}
-          fullWidth
-          margin="normal"
-          required
-        >
-          {employees.map((employee) => (
-            <MenuItem key={employee.id} value={String(employee.id)}>
-              {employee.fullName} ({employee.email})
-            </MenuItem>
-          ))}
-        </TextField>
+        <Controller
+          name="employee"
+          control={control}
+          render={({ field }) => (
+            <OptionAutocomplete
+              label="Pracownik"
+              queryKey={['employee-options']}
+              fetchOptions={getEmployeeOptions}
+              enabled={open}
+              fullWidth
+              value={field.value ?? null}
+              onChange={field.onChange}
+              required
+              error={!!errors.employee}
+              helperText={errors.employee?.message}
+            />
+          )}
+        />
 
-        <TextField
-          select
-          label="Zasób"
-          {...register('assetId')}
-          error={!!errors.assetId}
-          helperText={errors.assetId?.message || (availableAssets.length === 0 ? 'Brak dostępnych zasobów' : '')}
-          fullWidth
-          margin="normal"
-          required
-          disabled={availableAssets.length === 0}
-        >
-          {availableAssets.map((asset) => (
-            <MenuItem key={asset.id} value={String(asset.id)}>
-              {asset.assetType} - {asset.vendor} {asset.model} ({asset.seriesNumber})
-            </MenuItem>
-          ))}
-        </TextField>
+        <Controller
+          name="asset"
+          control={control}
+          render={({ field }) => (
+            <OptionAutocomplete
+              label="Zasób"
+              queryKey={['asset-options', 'available']}
+              fetchOptions={getAvailableAssetOptions}
+              enabled={open}
+              fullWidth
+              value={field.value ?? null}
+              onChange={field.onChange}
+              required
+              error={!!errors.asset}
+              helperText={errors.asset?.message}
+              noOptionsText="Brak dostępnych zasobów"
+            />
+          )}
+        />
 
         <TextField
           label="Data rozpoczęcia"
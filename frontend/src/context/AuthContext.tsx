@@ -39,7 +39,8 @@ export function AuthProvider({ children }: AuthProviderProps) {
     if (storedToken) {
       try {
         const decoded = jwtDecode<JwtPayload>(storedToken);
-        if (decoded.exp * 1000 > Date.now()) {
+        // Wygasły token dostępowy odnowi interceptor klienta, o ile mamy token odświeżania
+        if (decoded.exp * 1000 > Date.now() || localStorage.getItem('refreshToken')) {
           setToken(storedToken);
           setUser({ email: decoded.sub, role: decoded.role });
         } else {
@@ -47,6 +48,7 @@ export function AuthProvider({ children }: AuthProviderProps) {
         }
       } catch {
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
       }
     }
     setIsLoading(false);
@@ -57,12 +59,14 @@ export function AuthProvider({ children }: AuthProviderProps) {
     const decoded = jwtDecode<JwtPayload>(response.token);
 
     localStorage.setItem('token', response.token);
+    localStorage.setItem('refreshToken', response.refreshToken);
     setToken(response.token);
     setUser({ email: decoded.sub, role: decoded.role });
   };
 
   const logout = () => {
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     setToken(null);
     setUser(null);
   };
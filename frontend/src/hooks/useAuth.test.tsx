@@ -22,7 +22,7 @@ vi.mock('jwt-decode', () => ({
 
 // Mock API
 vi.mock('../api/auth', () => ({
-  login: vi.fn().mockResolvedValue({ token: 'valid.admin.token' }),
+  login: vi.fn().mockResolvedValue({ token: 'valid.admin.token', refreshToken: 'refresh.token' }),
 }));
 
 const wrapper = ({ children }: { children: ReactNode }) => (
@@ -99,6 +99,20 @@ describe('useAuth', () => {
       expect(localStorage.getItem('token')).toBeNull();
     });
 
+    it('should keep the session with an expired token while a refresh token is stored', async () => {
+      localStorage.setItem('token', 'expired.token');
+      localStorage.setItem('refreshToken', 'refresh.token');
+
+      const { result } = renderHook(() => useAuth(), { wrapper });
+
+      await waitFor(() => {
+        expect(result.current.isLoading).toBe(false);
+      });
+
+      expect(result.current.user).toEqual({ email: 'user@example.com', role: 'EMPLOYEE' });
+      expect(result.current.isAuthenticated).toBe(true);
+    });
+
     it('should clear invalid token from localStorage', async () => {
       localStorage.setItem('token', 'invalid.token');
 
@@ -130,6 +144,7 @@ describe('useAuth', () => {
       expect(result.current.isAuthenticated).toBe(true);
       expect(result.current.isAdmin).toBe(true);
       expect(localStorage.getItem('token')).toBe('valid.admin.token');
+      expect(localStorage.getItem('refreshToken')).toBe('refresh.token');
     });
   });
 
@@ -154,6 +169,7 @@ describe('useAuth', () => {
       expect(result.current.isAuthenticated).toBe(false);
       expect(result.current.isAdmin).toBe(false);
       expect(localStorage.getItem('token')).toBeNull();
+      expect(localStorage.getItem('refreshToken')).toBeNull();
     });
   });
 
@@ -17,13 +17,15 @@ import {
 import { Add, Stop } from '@mui/icons-material';
 import DataTable, { Column } from '../components/data/DataTable';
 import Pagination from '../components/data/Pagination';
-import FilterDropdown from '../components/data/FilterDropdown';
+import OptionAutocomplete from '../components/data/OptionAutocomplete';
 import CreateAssignmentModal from '../components/modals/CreateAssignmentModal';
 import EndAssignmentModal from '../components/modals/EndAssignmentModal';
 import ErrorMessage from '../components/feedback/ErrorMessage';
 import { getAssignments, Assignment, AssignmentFilters } from '../api/assignments';
-import { getEmployees } from '../api/employees';
-import { getAssets, Asset } from '../api/assets';
+import { getEmployeeOptions } from '../api/employees';
+import { getAssetOptions, OptionQuery, OptionResponse } from '../api/assets';
+
+const getAllAssetOptions = (query: OptionQuery) => getAssetOptions({ ...query, availableOnly: false });
 
 const assetTypeLabels: Record<string, string> = {
   LAPTOP: 'Laptop',
@@ -39,16 +41,16 @@ export default function AssignmentsPage() {
   const queryClient = useQueryClient();
   const [page, setPage] = useState(0);
   const [size, setSize] = useState(10);
-  const [employeeFilter, setEmployeeFilter] = useState<number | ''>('');
-  const [assetFilter, setAssetFilter] = useState<number | ''>('');
+  const [employeeFilter, setEmployeeFilter] = useState<OptionResponse | null>(null);
+  const [assetFilter, setAssetFilter] = useState<OptionResponse | null>(null);
   const [statusFilter, setStatusFilter] = useState<StatusFilter>('all');
   const [createModalOpen, setCreateModalOpen] = useState(false);
   const [endModalOpen, setEndModalOpen] = useState(false);
   const [selectedAssignment, setSelectedAssignment] = useState<Assignment | null>(null);
 
   const filters: AssignmentFilters = {
-    employeeId: employeeFilter || undefined,
-    assetId: assetFilter || undefined,
+    employeeId: employeeFilter?.id,
+    assetId: assetFilter?.id,
     isActive: statusFilter === 'all' ? null : statusFilter === 'active',
   };
 
@@ -57,22 +59,10 @@ export default function AssignmentsPage() {
     isLoading: assignmentsLoading,
     error: assignmentsError,
   } = useQuery({
-    queryKey: ['assignments', page, size, employeeFilter, assetFilter, statusFilter],
+    queryKey: ['assignments', page, size, employeeFilter?.id, assetFilter?.id, statusFilter],
     queryFn: () => getAssignments(page, size, 'id,asc', filters),
   });
 
-  const { data: employees = [] } = useQuery({
-    queryKey: ['employees'],
-    queryFn: getEmployees,
-  });
-
-  const { data: assetsData } = useQuery({
-    queryKey: ['assets-all'],
-    queryFn: () => getAssets(0, 1000),
-  });
-
-  const assets = assetsData?.content || [];
-
   const assignments = assignmentsData?.content || [];
   const totalElements = assignmentsData?.totalElements || 0;
 
@@ -134,16 +124,6 @@ export default function AssignmentsPage() {
     },
   ];
 
-  const employeeOptions = employees.map((e) => ({
-    value: e.id,
-    label: `${e.fullName} (${e.email})`,
-  }));
-
-  const assetOptions = assets.map((a: Asset) => ({
-    value: a.id,
-    label: `${a.assetType} - ${a.vendor} ${a.model}`,
-  }));
-
   return (
     <Box>
       <Box sx={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', mb: 3 }}>
@@ -175,18 +155,22 @@ export default function AssignmentsPage() {
             </RadioGroup>
           </FormControl>
 
-          <FilterDropdown
+          <OptionAutocomplete
             label="Filtruj po pracowniku"
-            options={employeeOptions}
+            queryKey={['employee-options']}
+            fetchOptions={getEmployeeOptions}
+            size="small"
             value={employeeFilter}
             onChange={(value) => {
               setEmployeeFilter(value);
               setPage(0);
             }}
           />
-          <FilterDropdown
+          <OptionAutocomplete
             label="Filtruj po zasobie"
-            options={assetOptions}
+            queryKey={['asset-options', 'all']}
+            fetchOptions={getAllAssetOptions}
+            size="small"
             value={assetFilter}
             onChange={(value) => {
               setAssetFilter(value);
@@ -224,10 +208,8 @@ export default function AssignmentsPage() {
         onSuccess={() => {
           queryClient.invalidateQueries({ queryKey: ['assignments'] });
           queryClient.invalidateQueries({ queryKey: ['assets'] });
-          queryClient.invalidateQueries({ queryKey: ['assets-all'] });
+          queryClient.invalidateQueries({ queryKey: ['asset-options'] });
         }}
-        employees={employees}
-        assets={assets}
       />
 
       <EndAssignmentModal
@@ -239,7 +221,7 @@ export default function AssignmentsPage() {
         onSuccess={() => {
           queryClient.invalidateQueries({ queryKey: ['assignments'] });
           queryClient.invalidateQueries({ queryKey: ['assets'] });
-          queryClient.invalidateQueries({ queryKey: ['assets-all'] });
+          queryClient.invalidateQueries({ queryKey: ['asset-options'] });
         }}
         assignment={selectedAssignment}
       />
@@ -1,11 +1,22 @@
 import { useState } from 'react';
 import { useQuery } from '@tanstack/react-query';
-import { Box, Button, Typography } from '@mui/material';
+import {
+  Box,
+  Button,
+  Typography,
+  FormControl,
+  RadioGroup,
+  FormControlLabel,
+  Radio,
+  FormLabel,
+  Paper,
+} from '@mui/material';
 import { Add } from '@mui/icons-material';
 import DataTable, { Column } from '../components/data/DataTable';
+import Pagination from '../components/data/Pagination';
 import AddEmployeeModal from '../components/modals/AddEmployeeModal';
 import ErrorMessage from '../components/feedback/ErrorMessage';
-import { getEmployees, Employee } from '../api/employees';
+import { getEmployees, Employee, EmployeeFilters } from '../api/employees';
 
 const columns: Column<Employee>[] = [
   { id: 'id', label: 'ID' },
@@ -24,19 +35,33 @@ const columns: Column<Employee>[] = [
   },
 ];
 
+type EmploymentFilter = 'all' | 'current' | 'former';
+
 export default function EmployeesPage() {
+  const [page, setPage] = useState(0);
+  const [size, setSize] = useState(10);
   const [modalOpen, setModalOpen] = useState(false);
+  const [employmentFilter, setEmploymentFilter] = useState<EmploymentFilter>('all');
+
+  const filters: EmployeeFilters = {
+    isCurrent: employmentFilter === 'all' ? null : employmentFilter === 'current',
+  };
 
   const {
-    data: employees = [],
+    data,
     isLoading,
     error,
     refetch,
   } = useQuery({
-    queryKey: ['employees'],
-    queryFn: getEmployees,
+    queryKey: ['employees', page, size, employmentFilter],
+    queryFn: () => getEmployees(page, size, 'id,asc', filters),
   });
 
+  const handleEmploymentFilterChange = (event: React.ChangeEvent<HTMLInputElement>) => {
+    setEmploymentFilter(event.target.value as EmploymentFilter);
+    setPage(0);
+  };
+
   return (
     <Box>
       <Box sx={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', mb: 3 }}>
@@ -50,15 +75,43 @@ export default function EmployeesPage() {
         </Button>
       </Box>
 
+      <Paper sx={{ p: 2, mb: 3 }}>
+        <FormControl component="fieldset">
+          <FormLabel component="legend">Zatrudnienie</FormLabel>
+          <RadioGroup
+            row
+            value={employmentFilter}
+            onChange={handleEmploymentFilterChange}
+          >
+            <FormControlLabel value="all" control={<Radio size="small" />} label="Wszyscy" />
+            <FormControlLabel value="current" control={<Radio size="small" />} label="Obecni" />
+            <FormControlLabel value="former" control={<Radio size="small" />} label="Byli" />
+          </RadioGroup>
+        </FormControl>
+      </Paper>
+
       {error && <ErrorMessage message="Błąd podczas pobierania pracowników" />}
 
       <DataTable
         columns={columns}
-        data={employees}
+        data={data?.content || []}
         loading={isLoading}
         emptyMessage="Brak pracowników w systemie"
       />
 
+      {data && data.totalElements > 0 && (
+        <Pagination
+          page={page}
+          size={size}
+          totalElements={data.totalElements}
+          onPageChange={setPage}
+          onSizeChange={(newSize) => {
+            setSize(newSize);
+            setPage(0);
+          }}
+        />
+      )}
+
       <AddEmployeeModal
         open={modalOpen}
         onClose={() => setModalOpen(false)}
@@ -1,8 +1,8 @@
-import { useQuery } from '@tanstack/react-query';
-import { Box, Typography, Chip } from '@mui/material';
+import { useInfiniteQuery } from '@tanstack/react-query';
+import { Box, Button, Typography, Chip } from '@mui/material';
 import DataTable, { Column } from '../components/data/DataTable';
 import ErrorMessage from '../components/feedback/ErrorMessage';
-import { getMyAssignments, Assignment } from '../api/assignments';
+import { getMyAssignmentsAfter, Assignment } from '../api/assignments';
 
 const assetTypeLabels: Record<string, string> = {
   LAPTOP: 'Laptop',
@@ -12,6 +12,9 @@ const assetTypeLabels: Record<string, string> = {
   HEADPHONES: 'Słuchawki',
 };
 
+// Pierwsza strona w tym rozmiarze i domyślnym sortowaniu jest buforowana po stronie serwera
+const PAGE_SIZE = 50;
+
 const columns: Column<Assignment>[] = [
   { id: 'id', label: 'ID przydziału' },
   { id: 'assetId', label: 'ID zasobu' },
@@ -44,14 +47,21 @@ const columns: Column<Assignment>[] = [
 
 export default function MyHistoryPage() {
   const {
-    data: assignments = [],
+    data,
     isLoading,
     error,
-  } = useQuery({
+    hasNextPage,
+    fetchNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
     queryKey: ['my-history'],
-    queryFn: getMyAssignments,
+    queryFn: ({ pageParam }) => getMyAssignmentsAfter(pageParam, PAGE_SIZE),
+    initialPageParam: '',
+    getNextPageParam: (lastPage) => lastPage.nextCursor ?? undefined,
   });
 
+  const assignments = data?.pages.flatMap((page) => page.content) ?? [];
+
   return (
     <Box>
       <Typography variant="h4" sx={{ mb: 3 }}>
@@ -66,6 +76,18 @@ export default function MyHistoryPage() {
         loading={isLoading}
         emptyMessage="Brak historii przydziałów"
       />
+
+      {hasNextPage && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
+          <Button
+            variant="outlined"
+            onClick={() => fetchNextPage()}
+            disabled={isFetchingNextPage}
+          >
+            Pokaż więcej
+          </Button>
+        </Box>
+      )}
     </Box>
   );
 }